@@ -0,0 +1,79 @@
+package com.joel.task_master.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.joel.task_master.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the task payloads, including the dd-MM-yyyy @JsonFormat on dueDate, per negotiated format.
+ * Mappers are built the way WebConfig and Boot build them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSerializationBenchmark {
+
+	@Param({"json", "cbor", "smile"})
+	private String format;
+
+	private ObjectMapper objectMapper;
+	private TaskDTO task;
+	private List<TaskDTO> tasks;
+	private byte[] taskBytes;
+
+	@Setup
+	public void setUp() throws Exception {
+		objectMapper = switch (format) {
+			case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+			case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+			default -> Jackson2ObjectMapperBuilder.json().build();
+		};
+		task = newTask(1);
+		tasks = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			tasks.add(newTask(i));
+		}
+		taskBytes = objectMapper.writeValueAsBytes(task);
+	}
+
+	@Benchmark
+	public byte[] writeTask() throws Exception {
+		return objectMapper.writeValueAsBytes(task);
+	}
+
+	@Benchmark
+	public byte[] writeTaskList() throws Exception {
+		return objectMapper.writeValueAsBytes(tasks);
+	}
+
+	@Benchmark
+	public TaskDTO readTask() throws Exception {
+		return objectMapper.readValue(taskBytes, TaskDTO.class);
+	}
+
+	private static TaskDTO newTask(long taskId) {
+		return new TaskDTO(taskId, "Task " + taskId, "Prepare the quarterly report for the operations review, part " + taskId,
+				taskId % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.COMPLETED, LocalDate.now(), 101L + taskId / 10, 0L);
+	}
+}
@@ -0,0 +1,54 @@
+package com.joel.task_master.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * handleExceptions walks an instanceof chain, so the first branch, the fallback and a freshly thrown exception
+ * (stack trace capture included) bound the cost of an error response before serialization, exception counter included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+	private final TaskMasterExceptionHandler handler = new TaskMasterExceptionHandler();
+	private final Exception firstBranch = new EmployeeNotFoundException("Employee NOT FOUND with the given ID: 101");
+	private final Exception fallback = new IllegalStateException("boom");
+
+	@Setup
+	public void setUp() {
+		ReflectionTestUtils.setField(handler, "meterRegistry", new SimpleMeterRegistry());
+	}
+
+	@Benchmark
+	public ResponseEntity<Object> firstBranch() {
+		return handler.handleExceptions(firstBranch);
+	}
+
+	@Benchmark
+	public ResponseEntity<Object> fallback() {
+		return handler.handleExceptions(fallback);
+	}
+
+	@Benchmark
+	public ResponseEntity<Object> newTaskNotFound() {
+		return handler.handleExceptions(new TaskNotFoundException("Task NOT FOUND with the given ID: 1"));
+	}
+}
@@ -0,0 +1,135 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.TaskMasterApplication;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.Employee;
+import com.joel.task_master.model.TaskStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deleting one employee with a long task history on embedded PostgreSQL: the old cascade (load the employee and
+ * every task, one DELETE per task), the bulk hard delete, and the soft delete with and without the purge that
+ * follows it. Single shot per invocation, every invocation gets a freshly seeded employee.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeDeleteBenchmark {
+
+	@Param({"100", "10000"})
+	private int tasksPerEmployee;
+
+	private EmbeddedPostgres postgres;
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+	private TaskService taskService;
+	private EmployeePurger employeePurger;
+	private TransactionTemplate transactionTemplate;
+	private EntityManager entityManager;
+	private Object employeeServiceTarget;
+
+	private Long empId;
+
+	@Setup(Level.Trial)
+	public void startApplication() throws IOException {
+		postgres = EmbeddedPostgres.builder().start();
+		context = new SpringApplicationBuilder(TaskMasterApplication.class)
+				.web(WebApplicationType.NONE)
+				// command line arguments, so they win over application.properties
+				.run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+						"--spring.datasource.username=postgres",
+						"--spring.datasource.password=",
+						"--spring.jpa.hibernate.ddl-auto=create-drop",
+						// the search column and index are migrations, added once Hibernate created the tables
+						"--spring.sql.init.mode=always",
+						"--spring.sql.init.data-locations=classpath:db/search-schema.sql",
+						"--spring.jpa.defer-datasource-initialization=true",
+						"--spring.jpa.show-sql=false",
+						"--spring.cache.type=none",
+						// the purger bean exists, it only runs when called below
+						"--taskmaster.employee.soft-delete=true",
+						"--taskmaster.employee.purge.interval=PT24H");
+		employeeService = context.getBean(EmployeeService.class);
+		taskService = context.getBean(TaskService.class);
+		employeePurger = context.getBean(EmployeePurger.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+		employeeServiceTarget = AopTestUtils.getUltimateTargetObject(employeeService);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopApplication() throws IOException {
+		context.close();
+		postgres.close();
+	}
+
+	@Setup(Level.Invocation)
+	public void seedEmployee() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+		List<TaskDTO> tasks = new ArrayList<>(tasksPerEmployee);
+		for (int t = 0; t < tasksPerEmployee; t++) {
+			tasks.add(new TaskDTO(null, "Task " + t, "Task description " + t, TaskStatus.values()[t % TaskStatus.values().length],
+					LocalDate.now().plusDays(t % 30), empId));
+		}
+		taskService.saveTasks(tasks);
+	}
+
+	// what deleteEmployeeById used to do: CascadeType.ALL loads every task and removes them one by one
+	@Benchmark
+	public void cascadeDelete() {
+		transactionTemplate.executeWithoutResult(status -> entityManager.remove(entityManager.find(Employee.class, empId)));
+	}
+
+	@Benchmark
+	public void bulkDelete() {
+		ReflectionTestUtils.setField(employeeServiceTarget, "softDelete", false);
+		employeeService.deleteEmployeeById(empId);
+	}
+
+	// what the DELETE request waits for in soft mode, the rows are left for the purger
+	@Benchmark
+	public void softDelete() {
+		ReflectionTestUtils.setField(employeeServiceTarget, "softDelete", true);
+		employeeService.deleteEmployeeById(empId);
+	}
+
+	// the soft delete plus all the background work it causes
+	@Benchmark
+	public long softDeleteAndPurge() {
+		ReflectionTestUtils.setField(employeeServiceTarget, "softDelete", true);
+		employeeService.deleteEmployeeById(empId);
+		return employeePurger.purgeDeletedEmployees();
+	}
+}
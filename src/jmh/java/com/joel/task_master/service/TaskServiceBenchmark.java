@@ -0,0 +1,82 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.CursorPageDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-side cost of the task listings on top of the repository: the DTOs come straight from the projection queries,
+ * so what is left is paging, the keyset cursor and the empty-result checks. The repositories are canned stubs,
+ * the database and transaction cost is not part of this.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+	@Param({"10", "100"})
+	private int pageSize;
+
+	private TaskServiceImpl taskService;
+
+	@Setup
+	public void setUp() {
+		List<TaskDTO> rows = new ArrayList<>();
+		for (long i = 1; i <= pageSize + 1; i++) {
+			rows.add(new TaskDTO(i, "Task " + i, "Task description #" + i, TaskStatus.IN_PROGRESS, LocalDate.now(), 101L, 0L));
+		}
+		TaskRepository taskRepository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+				new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "findTaskDTOByEmployeeId", "findTaskDTOAfter" -> rows;
+					case "findAllTaskDTO" -> new SliceImpl<>(rows.subList(0, pageSize));
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+		EmployeeRepository employeeRepository = (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+				new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> {
+					throw new UnsupportedOperationException(method.getName());
+				});
+
+		taskService = new TaskServiceImpl();
+		ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+		ReflectionTestUtils.setField(taskService, "employeeRepository", employeeRepository);
+	}
+
+	@Benchmark
+	public List<TaskDTO> getTaskByEmployeeId() {
+		return taskService.getTaskByEmployeeId(101L);
+	}
+
+	@Benchmark
+	public List<TaskDTO> getAllTask() {
+		return taskService.getAllTask(0, pageSize);
+	}
+
+	@Benchmark
+	public CursorPageDTO<TaskDTO> getAllTaskAfter() {
+		return taskService.getAllTaskAfter("", pageSize);
+	}
+}
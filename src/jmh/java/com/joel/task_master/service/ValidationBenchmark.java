@@ -0,0 +1,55 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The null/blank chains saveTask, saveTasks, updateTaskById, saveEmployee and updateEmployeeById run before touching the database.
+ * "Late" inputs only fail on the last check, so the whole chain is walked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+	private final TaskDTO validTask = new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.IN_PROGRESS, LocalDate.now(), null);
+	private final TaskDTO lateInvalidTask = new TaskDTO(null, "Task_1", "   ", TaskStatus.IN_PROGRESS, LocalDate.now(), null);
+	private final EmployeeDTO validEmployee = new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer");
+	private final EmployeeDTO lateInvalidEmployee = new EmployeeDTO(null, "Joel", "joel@gmail.com", "   ");
+
+	@Benchmark
+	public boolean validTask() {
+		return TaskServiceImpl.hasMissingDetails(validTask);
+	}
+
+	@Benchmark
+	public boolean lateInvalidTask() {
+		return TaskServiceImpl.hasMissingDetails(lateInvalidTask);
+	}
+
+	@Benchmark
+	public boolean validEmployee() {
+		return EmployeeServiceImpl.hasMissingDetails(validEmployee);
+	}
+
+	@Benchmark
+	public boolean lateInvalidEmployee() {
+		return EmployeeServiceImpl.hasMissingDetails(lateInvalidEmployee);
+	}
+}
@@ -0,0 +1,105 @@
+package com.joel.task_master.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The /task-master/api calls the harness can replay, each against a random row of the seeded data.
+ */
+enum Endpoint {
+
+	GET_TASK_BY_ID("getTaskById") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/task/" + data.randomTaskId(random))).GET();
+		}
+	},
+	GET_TASK_BY_EMP_ID("getTaskByEmpId") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/task-emp-id/" + data.randomEmpId(random))).GET();
+		}
+	},
+	GET_ALL_TASK("getAllTask") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			int pages = Math.max(1, data.taskIds().size() / PAGE_SIZE);
+			return HttpRequest.newBuilder(URI.create(api + "/task?pageSize=" + PAGE_SIZE + "&pageNumber=" + random.nextInt(pages))).GET();
+		}
+	},
+	GET_OVERDUE_TASK("getOverdueTask") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/task-overdue?pageSize=" + PAGE_SIZE + "&empId=" + data.randomEmpId(random))).GET();
+		}
+	},
+	GET_EMPLOYEE_BY_ID("getEmployeeById") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/employee/" + data.randomEmpId(random))).GET();
+		}
+	},
+	GET_EMPLOYEE_BY_TASK_ID("getEmployeeByTaskId") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/employee-task-id/" + data.randomTaskId(random))).GET();
+		}
+	},
+	UPDATE_TASK_BY_ID("updateTaskById") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/task/" + data.randomTaskId(random)))
+					.header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(taskJson(random)));
+		}
+	},
+	SAVE_TASK("saveTask") {
+		@Override
+		HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random) {
+			return HttpRequest.newBuilder(URI.create(api + "/task/" + data.randomEmpId(random)))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(taskJson(random)));
+		}
+	};
+
+	private static final int PAGE_SIZE = 20;
+
+	private final String label;
+
+	Endpoint(String label) {
+		this.label = label;
+	}
+
+	String label() {
+		return label;
+	}
+
+	abstract HttpRequest.Builder request(String api, Dataset data, ThreadLocalRandom random);
+
+	static Endpoint fromLabel(String label) {
+		for (Endpoint endpoint : values()) {
+			if (endpoint.label.equals(label)) {
+				return endpoint;
+			}
+		}
+		throw new IllegalArgumentException("Unknown endpoint '" + label + "' in loadtest.mix");
+	}
+
+	private static String taskJson(ThreadLocalRandom random) {
+		return "{\"taskTitle\":\"Load task\",\"taskDescription\":\"Written by the load test\",\"taskStatus\":\""
+				+ (random.nextBoolean() ? "In progress" : "Completed") + "\",\"dueDate\":\"01-01-2030\"}";
+	}
+
+	record Dataset(List<Long> empIds, List<Long> taskIds) {
+
+		long randomEmpId(ThreadLocalRandom random) {
+			return empIds.get(random.nextInt(empIds.size()));
+		}
+
+		long randomTaskId(ThreadLocalRandom random) {
+			return taskIds.get(random.nextInt(taskIds.size()));
+		}
+	}
+}
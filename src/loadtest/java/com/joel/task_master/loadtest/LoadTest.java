@@ -0,0 +1,231 @@
+package com.joel.task_master.loadtest;
+
+import com.joel.task_master.TaskMasterApplication;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: starts TaskMaster on a local database, seeds it, then issues requests on a fixed
+ * schedule no matter how slow the responses are. Latency is measured from the scheduled send time, not the actual one,
+ * so a stalled server shows up in the percentiles instead of silently lowering the request rate (coordinated omission).
+ * <p>
+ * {@code mvn -Ploadtest verify -Dloadtest.rate=500 -Dloadtest.db=postgres}, all settings are listed in the pom profile.
+ * Per-endpoint .hgrm files are written to {@code loadtest.output} for plotting or comparing runs.
+ */
+public class LoadTest {
+
+	private static final String API = "/task-master/api";
+
+	public static void main(String[] args) throws Exception {
+		int employees = Integer.getInteger("loadtest.employees", 100);
+		int tasksPerEmployee = Integer.getInteger("loadtest.tasks-per-employee", 10);
+		int rate = Integer.getInteger("loadtest.rate", 200);
+		int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+		int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+		String db = System.getProperty("loadtest.db", "h2");
+		Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix",
+				"getTaskById=35,getTaskByEmpId=25,getAllTask=10,getEmployeeById=10,getEmployeeByTaskId=5,updateTaskById=10,saveTask=5"));
+		Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+		EmbeddedPostgres postgres = db.equals("postgres") ? EmbeddedPostgres.builder().start() : null;
+		try (ConfigurableApplicationContext context = startApplication(postgres)) {
+			int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+			Endpoint.Dataset dataset = seed(context, employees, tasksPerEmployee);
+			System.out.println("Seeded " + dataset.empIds().size() + " employees and " + dataset.taskIds().size() + " tasks on " + db);
+
+			HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+			String api = "http://localhost:" + port + API;
+
+			System.out.println("Warm-up: " + warmupSeconds + "s at " + rate + " req/s");
+			run(httpClient, api, dataset, mix, rate, warmupSeconds);
+			System.out.println("Measuring: " + durationSeconds + "s at " + rate + " req/s, mix " + mix);
+			Map<Endpoint, Result> results = run(httpClient, api, dataset, mix, rate, durationSeconds);
+
+			report(results, durationSeconds, output);
+		} finally {
+			if (postgres != null) {
+				postgres.close();
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+		properties.put("spring.jpa.show-sql", false);
+		if (postgres != null) {
+			properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+			properties.put("spring.datasource.username", "postgres");
+			properties.put("spring.datasource.password", "");
+			// the search column and index are migrations, add them once Hibernate created the tables
+			properties.put("spring.sql.init.mode", "always");
+			properties.put("spring.sql.init.data-locations", "classpath:db/search-schema.sql");
+			properties.put("spring.jpa.defer-datasource-initialization", true);
+		} else {
+			properties.put("spring.datasource.url", "jdbc:h2:mem:task_master_load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+			properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+			properties.put("spring.datasource.username", "sa");
+			properties.put("spring.datasource.password", "");
+			// H2 has no full-text search
+			properties.put("taskmaster.search.engine", "memory");
+		}
+
+		properties.put("spring.devtools.restart.enabled", false);
+		// every virtual user comes from one address, the per-client rate limit would cap the whole run.
+		// -Dtaskmaster.admission.enabled=true measures with admission control
+		properties.put("taskmaster.admission.enabled", false);
+
+		// as arguments so they beat application.properties, except where a -D (e.g. -Dspring.threads.virtual.enabled) says otherwise
+		List<String> args = new ArrayList<>();
+		properties.forEach((key, value) -> {
+			if (System.getProperty(key) == null) {
+				args.add("--" + key + "=" + value);
+			}
+		});
+		return SpringApplication.run(TaskMasterApplication.class, args.toArray(new String[0]));
+	}
+
+	private static Endpoint.Dataset seed(ConfigurableApplicationContext context, int employees, int tasksPerEmployee) {
+		EmployeeService employeeService = context.getBean(EmployeeService.class);
+		TaskService taskService = context.getBean(TaskService.class);
+
+		List<Long> empIds = new ArrayList<>();
+		List<Long> taskIds = new ArrayList<>();
+		for (int e = 0; e < employees; e++) {
+			Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "Employee " + e, "employee" + e + "@gmail.com", "Developer")).getEmpId();
+			empIds.add(empId);
+
+			List<TaskDTO> tasks = new ArrayList<>();
+			for (int t = 0; t < tasksPerEmployee; t++) {
+				tasks.add(new TaskDTO(null, "Task " + t, "Task description #" + t + " for employee " + e, t % 2 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.COMPLETED,
+						LocalDate.now().plusDays(t % 30 - 15), empId));
+			}
+			if (!tasks.isEmpty()) {
+				taskService.saveTasks(tasks).forEach(task -> taskIds.add(task.getTaskId()));
+			}
+		}
+		return new Endpoint.Dataset(empIds, taskIds);
+	}
+
+	private static Map<Endpoint, Result> run(HttpClient httpClient, String api, Endpoint.Dataset dataset, Map<Endpoint, Integer> mix,
+											 int rate, int seconds) throws InterruptedException {
+		Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+		mix.keySet().forEach(endpoint -> results.put(endpoint, new Result()));
+		Endpoint[] schedule = weightedSchedule(mix);
+		AtomicLong inFlight = new AtomicLong();
+
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long start = System.nanoTime();
+		long total = (long) rate * seconds;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		for (long i = 0; i < total; i++) {
+			long intendedStart = start + i * intervalNanos;
+			long wait = intendedStart - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+
+			Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+			Result result = results.get(endpoint);
+			inFlight.incrementAndGet();
+			httpClient.sendAsync(endpoint.request(api, dataset, random).build(), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, failure) -> {
+						// from the scheduled time: queueing behind a slow response counts as latency
+						result.recorder.recordValue(Math.max(0, System.nanoTime() - intendedStart) / 1000);
+						if (failure != null || response.statusCode() >= 400) {
+							result.errors.incrementAndGet();
+						}
+						inFlight.decrementAndGet();
+					});
+		}
+
+		// let the tail of the run finish so its latencies are counted too
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		return results;
+	}
+
+	private static Endpoint[] weightedSchedule(Map<Endpoint, Integer> mix) {
+		List<Endpoint> schedule = new ArrayList<>();
+		mix.forEach((endpoint, weight) -> {
+			for (int w = 0; w < weight; w++) {
+				schedule.add(endpoint);
+			}
+		});
+		return schedule.toArray(new Endpoint[0]);
+	}
+
+	private static Map<Endpoint, Integer> parseMix(String mix) {
+		Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+		for (String entry : mix.split(",")) {
+			String[] parts = entry.strip().split("=");
+			weights.put(Endpoint.fromLabel(parts[0].strip()), Integer.parseInt(parts[1].strip()));
+		}
+		return weights;
+	}
+
+	private static void report(Map<Endpoint, Result> results, int seconds, Path output) throws IOException {
+		Files.createDirectories(output);
+		Histogram all = new Histogram(3);
+
+		System.out.printf("%-22s %8s %8s %10s %10s %10s %10s %10s %8s%n", "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+		for (Map.Entry<Endpoint, Result> entry : results.entrySet()) {
+			Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+			all.add(histogram);
+			print(entry.getKey().label(), histogram, seconds, entry.getValue().errors.get());
+			try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(entry.getKey().label() + ".hgrm")))) {
+				histogram.outputPercentileDistribution(out, 1000.0);
+			}
+		}
+		print("ALL", all, seconds, results.values().stream().mapToLong(result -> result.errors.get()).sum());
+		try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve("all.hgrm")))) {
+			all.outputPercentileDistribution(out, 1000.0);
+		}
+		System.out.println("Histograms (ms) written to " + output.toAbsolutePath());
+	}
+
+	private static void print(String label, Histogram histogram, int seconds, long errors) {
+		System.out.printf("%-22s %8d %8.1f %10.2f %10.2f %10.2f %10.2f %10.2f %8d%n", label, histogram.getTotalCount(),
+				histogram.getTotalCount() / (double) seconds,
+				histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+				histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+				histogram.getMaxValue() / 1000.0, errors);
+	}
+
+	private static final class Result {
+		// microseconds, auto-resizing, 3 significant digits
+		private final Recorder recorder = new Recorder(3);
+		private final AtomicLong errors = new AtomicLong();
+	}
+}
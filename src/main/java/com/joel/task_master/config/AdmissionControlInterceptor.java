@@ -0,0 +1,133 @@
+package com.joel.task_master.config;
+
+import com.joel.task_master.exception.RateLimitExceededException;
+import com.joel.task_master.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the API controllers, so excess requests are turned away before they can queue for a
+ * pool connection inside a @Transactional method. In order: a per-client token bucket (429, by client address, see
+ * server.forward-headers-strategy behind a proxy), shedding while the pool is saturated (503) and a bound on
+ * concurrent reads and writes (503), all with Retry-After. Nothing waits here: a request is admitted or rejected
+ * right away, and the rejections go through TaskMasterExceptionHandler like any error.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmaster.admission.client-rate:100}")
+    private double clientRate;
+    @Value("${taskmaster.admission.client-burst:200}")
+    private int clientBurst;
+    @Value("${taskmaster.admission.max-concurrent-reads:50}")
+    private int maxConcurrentReads;
+    @Value("${taskmaster.admission.max-concurrent-writes:20}")
+    private int maxConcurrentWrites;
+    @Value("${taskmaster.admission.pool-wait-threshold:PT0.5S}")
+    private Duration poolWaitThreshold;
+
+    private ClientRateLimiter clientRateLimiter;
+    private Semaphore reads;
+    private Semaphore writes;
+
+    // pool wait is sampled at most once per interval by whichever request finds the sample stale
+    private final AtomicLong sampledAt = new AtomicLong(System.nanoTime());
+    private long acquireCount;
+    private double acquireNanos;
+    private volatile boolean poolSaturated;
+
+    @PostConstruct
+    void createLimits() {
+        clientRateLimiter = new ClientRateLimiter(clientRate, clientBurst);
+        reads = new Semaphore(maxConcurrentReads);
+        writes = new Semaphore(maxConcurrentWrites);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // streaming exports come back for an async dispatch, they were admitted and still hold their permit
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        long waitNanos = clientRateLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException("Too many requests from " + request.getRemoteAddr() + ", slow down!",
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+        if (poolSaturated()) {
+            throw new ServiceOverloadedException("The database is saturated, the request was not started!", SHED_RETRY_AFTER_SECONDS);
+        }
+        boolean read = isRead(request);
+        Semaphore permits = read ? reads : writes;
+        if (!permits.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many " + (read ? "reads" : "writes") + " in progress, the request was not started!",
+                    SHED_RETRY_AFTER_SECONDS);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permits);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Semaphore permits) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private boolean poolSaturated() {
+        long now = System.nanoTime();
+        long last = sampledAt.get();
+        if (now - last >= SAMPLE_INTERVAL_NANOS && sampledAt.compareAndSet(last, now)) {
+            samplePoolWait();
+        }
+        return poolSaturated;
+    }
+
+    // mean connection acquire time since the previous sample, over every pool. No connection handed out for a whole
+    // interval while requests are waiting for one counts as saturated as well
+    private synchronized void samplePoolWait() {
+        long count = 0;
+        double nanos = 0;
+        for (Timer acquire : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            count += acquire.count();
+            nanos += acquire.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double pending = 0;
+        for (Gauge gauge : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            pending += gauge.value();
+        }
+
+        long acquired = count - acquireCount;
+        double meanWaitNanos = acquired > 0 ? (nanos - acquireNanos) / acquired : 0;
+        acquireCount = count;
+        acquireNanos = nanos;
+        poolSaturated = pending > 0 && (acquired == 0 || meanWaitNanos >= poolWaitThreshold.toNanos());
+    }
+}
@@ -0,0 +1,17 @@
+package com.joel.task_master.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// cache advice wraps the transaction advice: hits never open a transaction or borrow a pool connection,
+// and puts/evictions only happen once the write has committed
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+    public static final String EMPLOYEES = "employees";
+    public static final String TASK_EMPLOYEES = "taskEmployees";
+
+}
@@ -0,0 +1,46 @@
+package com.joel.task_master.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket per client in its GCRA form: instead of a token count and a refill timestamp each client has one
+// AtomicLong, the time its bucket would be empty, advanced by one token interval per admitted request with a CAS.
+// The clients live in a Caffeine map, striped like a ConcurrentHashMap, so clients never contend with each other
+final class ClientRateLimiter {
+
+    private static final long MAX_CLIENTS = 100_000;
+
+    private final long tokenNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> emptyAt;
+
+    ClientRateLimiter(double requestsPerSecond, int burst) {
+        this.tokenNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burstNanos = tokenNanos * burst;
+        // an idle client's bucket is full again after burstNanos, forgetting it changes nothing
+        this.emptyAt = Caffeine.newBuilder()
+                .maximumSize(MAX_CLIENTS)
+                .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, Duration.ofSeconds(1).toNanos())))
+                .build();
+    }
+
+    // 0 when the request is admitted, otherwise the nanos until the client has a token again
+    long tryAcquire(String clientId) {
+        long now = System.nanoTime();
+        AtomicLong clientEmptyAt = emptyAt.get(clientId, key -> new AtomicLong(now));
+        while (true) {
+            long current = clientEmptyAt.get();
+            long next = Math.max(current, now) + tokenNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (clientEmptyAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
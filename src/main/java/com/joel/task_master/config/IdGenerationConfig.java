@@ -0,0 +1,17 @@
+package com.joel.task_master.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGenerationConfig {
+
+    // hands taskmaster.id.block-size over to PooledSequenceGenerator through the Hibernate settings
+    @Bean
+    public HibernatePropertiesCustomizer idBlockSizeCustomizer(
+            @Value("${taskmaster.id.block-size:" + PooledSequenceGenerator.DEFAULT_BLOCK_SIZE + "}") int blockSize) {
+        return properties -> properties.put(PooledSequenceGenerator.BLOCK_SIZE_SETTING, blockSize);
+    }
+}
@@ -0,0 +1,35 @@
+package com.joel.task_master.config;
+
+import com.joel.task_master.dto.ImportResultDTO;
+import com.joel.task_master.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * One-shot bulk import, e.g.
+ * {@code java -jar app.jar --taskmaster.import.file=employees.ndjson --spring.main.web-application-type=none}
+ */
+@Component
+@ConditionalOnProperty("taskmaster.import.file")
+public class ImportRunner implements ApplicationRunner {
+
+    @Autowired
+    private ImportService importService;
+
+    @Value("${taskmaster.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportResultDTO result = importService.importEmployeesWithTasks(file);
+        long rows = result.getEmployees() + result.getTasks();
+        System.out.println("Imported " + result.getEmployees() + " employees and " + result.getTasks() + " tasks from "
+                + file + " in " + result.getMillis() + " ms (" + rows * 1000 / Math.max(1, result.getMillis()) + " rows/s)");
+    }
+}
@@ -0,0 +1,30 @@
+package com.joel.task_master.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator that hands out IDs from blocks of {@code taskmaster.id.block-size} with the pooled
+ * optimizer. One nextval reserves a whole block, and every node reserves its own disjoint block, so it stays
+ * safe with several application instances inserting at once. The database sequence must be created with
+ * INCREMENT BY equal to the block size (see db/migration.sql).
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String BLOCK_SIZE_SETTING = "taskmaster.id.block-size";
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        Object blockSize = serviceRegistry.getService(ConfigurationService.class).getSettings().get(BLOCK_SIZE_SETTING);
+        parameters.put(INCREMENT_PARAM, blockSize == null ? String.valueOf(DEFAULT_BLOCK_SIZE) : blockSize.toString());
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.joel.task_master.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only with taskmaster.datasource.replica-urls set; replaces Boot's single pool with the primary pool (same
+// spring.datasource.* settings), one pool per replica sized like it, and the router in front of both
+@Configuration
+@ConditionalOnExpression("!'${taskmaster.datasource.replica-urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            MeterRegistry meterRegistry,
+            @Value("${taskmaster.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${taskmaster.datasource.health-check-interval:PT5S}") Duration healthCheckInterval,
+            @Value("${taskmaster.datasource.replica-lag-query:}") String replicaLagQuery,
+            @Value("${taskmaster.datasource.max-replica-lag:PT10S}") Duration maxReplicaLag) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : replicaUrls) {
+            // no-arg constructor: the pool starts on first use, a replica that is down doesn't stop startup
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(replicaUrl.strip());
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setUsername(dataSourceProperties.determineUsername());
+            replica.setPassword(dataSourceProperties.determinePassword());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setReadOnly(true);
+            // hikaricp.* meters tagged pool=replica-N, the admission control pool wait covers them too
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+
+        String lagQuery = replicaLagQuery.isBlank() ? ReplicaRoutingDataSource.POSTGRES_LAG_QUERY : replicaLagQuery;
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicas, healthCheckInterval,
+                lagQuery, maxReplicaLag);
+        Gauge.builder("taskmaster.datasource.replicas.healthy", routingDataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .register(meterRegistry);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
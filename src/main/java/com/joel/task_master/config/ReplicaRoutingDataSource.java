@@ -0,0 +1,119 @@
+package com.joel.task_master.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions, round robin over the replicas that passed their last
+ * health check (reachable, and no further behind the primary than the lag threshold), and primary connections to
+ * everything else. With no healthy replica, or when a replica fails to give
+ * a connection, reads fall back to the primary. Has to sit behind a LazyConnectionDataSourceProxy: the transaction
+ * manager asks for the connection before the transaction is marked read-only, the proxy delays that to the first statement.
+ * Replicas lag behind the primary, so a read right after a write can miss it.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // seconds since the last replayed transaction, 0 while the standby has replayed everything it received (an idle
+    // primary commits nothing, the replay timestamp alone would keep growing) and NULL on a server that isn't a standby
+    public static final String POSTGRES_LAG_QUERY = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService healthChecks;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // replaced as a whole by the health checks, reads never lock
+    private volatile List<HikariDataSource> healthyReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration healthCheckInterval,
+                                    String lagQuery, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-health-check").daemon().factory());
+        // replicas only take reads once they answered the first check
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+        List<HikariDataSource> candidates = healthyReplicas;
+        if (candidates.isEmpty()) {
+            return primary.getConnection();
+        }
+        HikariDataSource replica = candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size()));
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // out until the next check finds it healthy again
+            markUnhealthy(replica);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    public int getHealthyReplicaCount() {
+        return healthyReplicas.size();
+    }
+
+    synchronized void checkReplicas() {
+        List<HikariDataSource> healthy = new ArrayList<>();
+        for (HikariDataSource replica : replicas) {
+            try (Connection connection = replica.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS) && lagSeconds(connection) <= maxLagSeconds) {
+                    healthy.add(replica);
+                }
+            } catch (SQLException e) {
+                // unreachable, or the lag can't be read: stays out
+            }
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    // NULL reads as 0
+    private double lagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                return resultSet.next() ? resultSet.getDouble(1) : 0;
+            }
+        }
+    }
+
+    private synchronized void markUnhealthy(HikariDataSource replica) {
+        healthyReplicas = healthyReplicas.stream().filter(healthy -> healthy != replica).toList();
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,12 @@
+package com.joel.task_master.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// the only scheduled job is the soft-delete purger, nothing runs in the background without it
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "taskmaster.employee.soft-delete", havingValue = "true")
+public class SchedulingConfig {
+}
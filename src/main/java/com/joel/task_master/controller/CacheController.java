@@ -0,0 +1,49 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.CacheStatsDTO;
+import com.joel.task_master.exception.TaskMasterException;
+import com.joel.task_master.service.CacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/task-master/api")
+@Tag(name = "Cache Controller")
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    // GET CACHE STATS ------------------------------------------------------------------------------
+    @Operation(
+            summary = "GET CACHE STATS",
+            description = "You can get size, hit/miss and eviction counts of the lookup caches",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/cache-stats")
+    @CrossOrigin
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return new ResponseEntity<>(cacheService.getCacheStats(), HttpStatus.OK);
+    }
+}
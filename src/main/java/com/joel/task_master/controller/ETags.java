@@ -0,0 +1,84 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.VersionMismatchException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+// ETags derived from the @Version column, so a 304 never needs the response body to be built or hashed
+final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private ETags() {
+    }
+
+    static String ofVersion(Long version) {
+        return "\"" + version + representation() + "\"";
+    }
+
+    // a task list changes when any task in it is added, removed or updated, so hash every (taskId, version) pair.
+    // Weak on purpose: Tomcat never gzips a response carrying a strong ETag, and lists are the bodies worth compressing.
+    // If-None-Match compares weakly, so 304s work the same; lists are never the target of an If-Match.
+    static String ofTasks(List<TaskDTO> tasks) {
+        long hash = FNV_OFFSET;
+        for (TaskDTO task : tasks) {
+            hash = (hash ^ task.getTaskId()) * FNV_PRIME;
+            hash = (hash ^ task.getVersion()) * FNV_PRIME;
+        }
+        return "W/\"" + tasks.size() + "-" + Long.toHexString(hash) + representation() + "\"";
+    }
+
+    // strong ETags are per representation: the same version as CBOR or Smile is a different byte sequence.
+    // The converter is only picked after the 304 check, so follow the client's Accept the same way negotiation will.
+    private static String representation() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return "";
+        }
+        String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return "";
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return "-cbor";
+                } else if (mediaType.equalsTypeAndSubtype(SMILE)) {
+                    return "-smile";
+                } else if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // negotiation rejects the request anyway
+        }
+        return "";
+    }
+
+    // If-Match -> expected version, null when the header is absent or '*' (any current version matches)
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        // weak tags never match under If-Match (RFC 9110 strong comparison)
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new VersionMismatchException("If-Match must carry a single strong ETag returned by this API, got: " + ifMatch);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        // the representation suffix doesn't matter for writes, the version does
+        int suffix = value.indexOf('-');
+        try {
+            return Long.parseLong(suffix < 0 ? value : value.substring(0, suffix));
+        } catch (NumberFormatException e) {
+            throw new VersionMismatchException("If-Match must carry a single strong ETag returned by this API, got: " + ifMatch);
+        }
+    }
+}
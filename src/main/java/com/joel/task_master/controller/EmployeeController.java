@@ -1,16 +1,21 @@
 package com.joel.task_master.controller;
 
+import com.joel.task_master.dto.CursorPageDTO;
 import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.EmployeeTaskCountDTO;
 import com.joel.task_master.dto.EmployeeTaskDTO;
 import com.joel.task_master.exception.TaskMasterException;
 import com.joel.task_master.model.Employee;
 import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.IdempotencyService;
+import com.joel.task_master.service.TaskCountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,11 +29,15 @@ public class EmployeeController {
 
     @Autowired
     private EmployeeService employeeService;
+    @Autowired
+    private TaskCountService taskCountService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     // SAVE EMPLOYEE WITH TASKS ---------------------------------------------------------------------
     @Operation(
             summary = "SAVE EMPLOYEE WITH TASK(S)",
-            description = "You can save the task(s) while saving the Employee",
+            description = "You can save the task(s) while saving the Employee; a retry with the same Idempotency-Key returns the first response instead of creating again, reusing the key for a different request is a 422",
             responses = {
                     @ApiResponse(
                             description = "CREATED",
@@ -65,11 +74,11 @@ public class EmployeeController {
                     )
             }
     )
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = IdempotencyService.IDEMPOTENT_REPLAYED_HEADER)
     @PostMapping("/employee-task")
-    public ResponseEntity<Employee> saveEmployeeWithTask(@RequestBody EmployeeTaskDTO employeeTaskDTO) {
-        Employee employee = employeeService.saveEmployeeWithTask(employeeTaskDTO.getEmployee());
-        return new ResponseEntity<>(employee, HttpStatus.CREATED);
+    public ResponseEntity<Employee> saveEmployeeWithTask(@RequestBody EmployeeTaskDTO employeeTaskDTO, @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /employee-task", idempotencyKey, employeeTaskDTO,
+                () -> new ResponseEntity<>(employeeService.saveEmployeeWithTask(employeeTaskDTO.getEmployee()), HttpStatus.CREATED));
     }
 
     // SAVE EMPLOYEE --------------------------------------------------------------------------------
@@ -108,15 +117,16 @@ public class EmployeeController {
             }
     )
     @PostMapping("/employee")
-    @CrossOrigin
-    public ResponseEntity<EmployeeDTO> saveEmployee(@RequestBody EmployeeDTO employeeDTO) {
-        return new ResponseEntity<>(employeeService.saveEmployee(employeeDTO), HttpStatus.CREATED);
+    @CrossOrigin(exposedHeaders = IdempotencyService.IDEMPOTENT_REPLAYED_HEADER)
+    public ResponseEntity<EmployeeDTO> saveEmployee(@RequestBody EmployeeDTO employeeDTO, @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /employee", idempotencyKey, employeeDTO,
+                () -> new ResponseEntity<>(employeeService.saveEmployee(employeeDTO), HttpStatus.CREATED));
     }
 
     // UPDATE EMPLOYEE BY ID ------------------------------------------------------------------------
     @Operation(
             summary = "UPDATE EMPLOYEE BY ID",
-            description = "You can updated the Employee by ID",
+            description = "You can updated the Employee by ID. Send the ETag from a previous GET in If-Match to update only if nobody changed the employee since",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -132,6 +142,20 @@ public class EmployeeController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "If-Match ETag is stale | PRECONDITION_FAILED",
+                            responseCode = "412",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Concurrent update | CONFLICT",
+                            responseCode = "409",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -149,15 +173,65 @@ public class EmployeeController {
             }
     )
     @PutMapping("/employee/{empId}")
-    @CrossOrigin
-    public ResponseEntity<EmployeeDTO> updateEmpById(@PathVariable("empId") Long empId, @RequestBody EmployeeDTO employeeDTO) {
-        return new ResponseEntity<>(employeeService.updateEmployeeById(empId, employeeDTO), HttpStatus.OK);
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<EmployeeDTO> updateEmpById(@PathVariable("empId") Long empId, @RequestBody EmployeeDTO employeeDTO, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeDTO updatedEmployee = employeeService.updateEmployeeById(empId, employeeDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.ofVersion(updatedEmployee.getVersion())).body(updatedEmployee);
+    }
+
+    // PATCH EMPLOYEE BY ID -------------------------------------------------------------------------
+    @Operation(
+            summary = "PATCH EMPLOYEE BY ID",
+            description = "You can update only some fields of an Employee: send only those fields. Nothing is read back, so the response has no body; with If-Match the new ETag is returned",
+            responses = {
+                    @ApiResponse(
+                            description = "NO_CONTENT",
+                            responseCode = "204"
+                    ),
+                    @ApiResponse(
+                            description = "Employee object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "If-Match ETag is stale | PRECONDITION_FAILED",
+                            responseCode = "412",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/employee/{empId}")
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<Void> patchEmpById(@PathVariable("empId") Long empId, @RequestBody EmployeeDTO employeeDTO, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        employeeService.patchEmployeeById(empId, employeeDTO, expectedVersion);
+        // the new version is only known when the old one was matched
+        return expectedVersion == null ? ResponseEntity.noContent().build()
+                : ResponseEntity.noContent().eTag(ETags.ofVersion(expectedVersion + 1)).build();
     }
 
     // GET EMPLOYEE BY TASK ID ----------------------------------------------------------------------
     @Operation(
             summary = "GET EMPLOYEE BY TASK ID",
-            description = "You can get employee by Task ID",
+            description = "You can get employee by Task ID. Send the last ETag in If-None-Match to get a 304 when nothing changed",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -173,6 +247,10 @@ public class EmployeeController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "NOT_MODIFIED, the If-None-Match ETag is still current",
+                            responseCode = "304"
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -191,15 +269,16 @@ public class EmployeeController {
     )
 
     @GetMapping("/employee-task-id/{taskId}")
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
     public ResponseEntity<EmployeeDTO> getEmployeeByTaskId(@PathVariable("taskId") Long taskId) {
-        return new ResponseEntity<>(employeeService.getEmployeeByTaskId(taskId), HttpStatus.OK);
+        EmployeeDTO employee = employeeService.getEmployeeByTaskId(taskId);
+        return ResponseEntity.ok().eTag(ETags.ofVersion(employee.getVersion())).body(employee);
     }
 
     // GET EMPLOYEE BY ID ---------------------------------------------------------------------------
     @Operation(
             summary = "GET EMPLOYEE BY ID",
-            description = "You can get employee by ID",
+            description = "You can get employee by ID. Send the last ETag in If-None-Match to get a 304 when nothing changed",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -215,6 +294,10 @@ public class EmployeeController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "NOT_MODIFIED, the If-None-Match ETag is still current",
+                            responseCode = "304"
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -233,15 +316,17 @@ public class EmployeeController {
     )
 
     @GetMapping("/employee/{empId}")
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
     public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable("empId") Long empId) {
-        return new ResponseEntity<>(employeeService.getEmployeeById(empId), HttpStatus.OK);
+        EmployeeDTO employee = employeeService.getEmployeeById(empId);
+        return ResponseEntity.ok().eTag(ETags.ofVersion(employee.getVersion())).body(employee);
     }
 
     // GET ALL EMPLOYEES ----------------------------------------------------------------------------
     @Operation(
             summary = "GET ALL EMPLOYEES",
-            description = "You can get all employees",
+            description = "You can get all employees. Pass 'after' (empty for the first page) to page by cursor " +
+                    "instead of pageNumber; the next cursor is returned in the X-Next-Cursor header",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -278,11 +363,58 @@ public class EmployeeController {
             }
     )
     @GetMapping("/employee")
-    @CrossOrigin
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployee(@RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+    @CrossOrigin(exposedHeaders = TaskController.NEXT_CURSOR_HEADER)
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployee(@RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize, @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            CursorPageDTO<EmployeeDTO> page = employeeService.getAllEmployeeAfter(after, pageSize);
+            HttpHeaders headers = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                headers.set(TaskController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+        }
         return new ResponseEntity<>(employeeService.getAllEmployee(pageNumber, pageSize), HttpStatus.OK);
     }
 
+    // GET EMPLOYEE TASK COUNTS ---------------------------------------------------------------------
+    @Operation(
+            summary = "GET EMPLOYEE TASK COUNTS",
+            description = "You can get the number of tasks per status for all employees, or only for the ones " +
+                    "listed in 'empIds'. The counts are kept up to date on every task write, so this never scans the tasks",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/employee-task-counts")
+    @CrossOrigin
+    public ResponseEntity<List<EmployeeTaskCountDTO>> getEmployeeTaskCounts(@RequestParam(value = "empIds", required = false) List<Long> empIds) {
+        return new ResponseEntity<>(taskCountService.getTaskCounts(empIds), HttpStatus.OK);
+    }
+
     // DELETE EMPLOYEE BY ID ------------------------------------------------------------------------
     @Operation(
             summary = "DELETE EMPLOYEE BY ID",
@@ -1,8 +1,17 @@
 package com.joel.task_master.controller;
 
+import com.joel.task_master.dto.CursorPageDTO;
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskBulkResultDTO;
 import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.InvalidDueDateException;
 import com.joel.task_master.exception.TaskMasterException;
+import com.joel.task_master.model.TaskStatus;
 import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.IdempotencyService;
+import com.joel.task_master.service.TaskExportFormat;
+import com.joel.task_master.service.TaskSearchService;
 import com.joel.task_master.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,10 +19,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.List;
 
 @RestController
@@ -21,13 +36,22 @@ import java.util.List;
 @Tag(name = "Task Controller")
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String SEARCH_TRUNCATED_HEADER = "X-Search-Truncated";
+    // same format as the JSON dueDate, strict so 31-02-2030 is rejected instead of rolled over
+    private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-uuuu").withResolverStyle(ResolverStyle.STRICT);
+
     @Autowired
     private TaskService taskService;
+    @Autowired
+    private TaskSearchService taskSearchService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     // SAVE TASK WITH EMP ID ------------------------------------------------------------------------
     @Operation(
             summary = "SAVE TASK WITH EMPLOYEE ID",
-            description = "You can save Task with Employee ID",
+            description = "You can save Task with Employee ID; a retry with the same Idempotency-Key returns the first response instead of creating again, reusing the key for a different request is a 422",
             responses = {
                     @ApiResponse(
                             description = "CREATED",
@@ -60,15 +84,56 @@ public class TaskController {
             }
     )
     @PostMapping("/task/{empId}")
-    @CrossOrigin
-    public ResponseEntity<TaskDTO> saveTask(@RequestBody TaskDTO taskDTO, @PathVariable("empId") Long empId) {
-        return new ResponseEntity<>(taskService.saveTask(taskDTO, empId), HttpStatus.CREATED);
+    @CrossOrigin(exposedHeaders = IdempotencyService.IDEMPOTENT_REPLAYED_HEADER)
+    public ResponseEntity<TaskDTO> saveTask(@RequestBody TaskDTO taskDTO, @PathVariable("empId") Long empId, @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /task/" + empId, idempotencyKey, taskDTO,
+                () -> new ResponseEntity<>(taskService.saveTask(taskDTO, empId), HttpStatus.CREATED));
+    }
+
+    // SAVE TASKS IN BULK ---------------------------------------------------------------------------
+    @Operation(
+            summary = "SAVE TASKS IN BULK",
+            description = "You can save many Tasks for one or many Employees in a single request, every task " +
+                    "must carry its employeeId; a retry with the same Idempotency-Key returns the first response instead of creating again, reusing the key for a different request is a 422",
+            responses = {
+                    @ApiResponse(
+                            description = "CREATED",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @PostMapping("/task-bulk")
+    @CrossOrigin(exposedHeaders = IdempotencyService.IDEMPOTENT_REPLAYED_HEADER)
+    public ResponseEntity<List<TaskDTO>> saveTasks(@RequestBody List<TaskDTO> taskDTOs, @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /task-bulk", idempotencyKey, taskDTOs,
+                () -> new ResponseEntity<>(taskService.saveTasks(taskDTOs), HttpStatus.CREATED));
     }
 
     // UPDATE TASK BY ID ----------------------------------------------------------------------------
     @Operation(
             summary = "UPDATE TASK BY ID",
-            description = "You can update task ny ID",
+            description = "You can update task ny ID. Send the ETag from a previous GET in If-Match to update only if nobody changed the task since",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -84,6 +149,20 @@ public class TaskController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "If-Match ETag is stale | PRECONDITION_FAILED",
+                            responseCode = "412",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Concurrent update | CONFLICT",
+                            responseCode = "409",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -102,15 +181,65 @@ public class TaskController {
     )
 
     @PutMapping("/task/{taskId}")
-    @CrossOrigin
-    public ResponseEntity<TaskDTO> updateTaskById(@PathVariable("taskId") Long taskId, @RequestBody TaskDTO taskDTO) {
-        return new ResponseEntity<>(taskService.updateTaskById(taskId, taskDTO), HttpStatus.OK);
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<TaskDTO> updateTaskById(@PathVariable("taskId") Long taskId, @RequestBody TaskDTO taskDTO, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDTO updatedTask = taskService.updateTaskById(taskId, taskDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.ofVersion(updatedTask.getVersion())).body(updatedTask);
+    }
+
+    // PATCH TASK BY ID -----------------------------------------------------------------------------
+    @Operation(
+            summary = "PATCH TASK BY ID",
+            description = "You can update only some fields of a Task, e.g. just its status: send only those fields. Nothing is read back, so the response has no body; with If-Match the new ETag is returned",
+            responses = {
+                    @ApiResponse(
+                            description = "NO_CONTENT",
+                            responseCode = "204"
+                    ),
+                    @ApiResponse(
+                            description = "Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "If-Match ETag is stale | PRECONDITION_FAILED",
+                            responseCode = "412",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/task/{taskId}")
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
+    public ResponseEntity<Void> patchTaskById(@PathVariable("taskId") Long taskId, @RequestBody TaskDTO taskDTO, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        taskService.patchTaskById(taskId, taskDTO, expectedVersion);
+        // the new version is only known when the old one was matched
+        return expectedVersion == null ? ResponseEntity.noContent().build()
+                : ResponseEntity.noContent().eTag(ETags.ofVersion(expectedVersion + 1)).build();
     }
 
     // GET TASK BY EMP-ID ---------------------------------------------------------------------------
     @Operation(
             summary = "GET TASK BY EMP-ID",
-            description = "You can get Task by Employee ID",
+            description = "You can get Task by Employee ID. Send the last ETag in If-None-Match to get a 304 when nothing changed",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -128,6 +257,10 @@ public class TaskController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "NOT_MODIFIED, the If-None-Match ETag is still current",
+                            responseCode = "304"
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -146,15 +279,256 @@ public class TaskController {
     )
 
     @GetMapping("/task-emp-id/{empId}")
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
     public ResponseEntity<List<TaskDTO>> getTaskByEmpId(@PathVariable("empId") Long empId) {
-        return new ResponseEntity<>(taskService.getTaskByEmployeeId(empId), HttpStatus.OK);
+        // a matching If-None-Match is answered with 304 by Spring before the body is written
+        List<TaskDTO> tasks = taskService.getTaskByEmployeeId(empId);
+        return ResponseEntity.ok().eTag(ETags.ofTasks(tasks)).body(tasks);
+    }
+
+    // GET TASKS BY STATUS --------------------------------------------------------------------------
+    @Operation(
+            summary = "GET TASKS BY STATUS",
+            description = "You can get Tasks with the given status ('Pending', 'In progress', 'On hold', 'Completed'; " +
+                    "'in-progress' style works in the url too), earliest due date first",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/task-status/{taskStatus}")
+    @CrossOrigin
+    public ResponseEntity<List<TaskDTO>> getTaskByStatus(@PathVariable("taskStatus") String taskStatus, @RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        return new ResponseEntity<>(taskService.getTaskByStatus(TaskStatus.fromLabel(taskStatus), pageNumber, pageSize), HttpStatus.OK);
+    }
+
+    // GET TASKS BY EMP-ID AND STATUS ---------------------------------------------------------------
+    @Operation(
+            summary = "GET TASKS BY EMP-ID AND STATUS",
+            description = "You can get an Employee's Tasks with the given status, earliest due date first",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/task-emp-id/{empId}/task-status/{taskStatus}")
+    @CrossOrigin
+    public ResponseEntity<List<TaskDTO>> getTaskByEmpIdAndStatus(@PathVariable("empId") Long empId, @PathVariable("taskStatus") String taskStatus, @RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        return new ResponseEntity<>(taskService.getTaskByEmployeeIdAndStatus(empId, TaskStatus.fromLabel(taskStatus), pageNumber, pageSize), HttpStatus.OK);
+    }
+
+    // GET TASKS DUE BETWEEN ------------------------------------------------------------------------
+    @Operation(
+            summary = "GET TASKS DUE BETWEEN",
+            description = "You can get Tasks due between 'from' and 'to' (dd-MM-yyyy, both inclusive), optionally for one Employee, " +
+                    "earliest due date first. Pass the X-Next-Cursor header value as 'after' to get the next page",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @CrossOrigin(exposedHeaders = NEXT_CURSOR_HEADER)
+    @GetMapping("/task-due")
+    public ResponseEntity<List<TaskDTO>> getTaskDueBetween(@RequestParam("from") String from, @RequestParam("to") String to, @RequestParam(value = "empId", required = false) Long empId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        return cursorPage(taskService.getTaskDueBetween(empId, parseDueDate("from", from), parseDueDate("to", to), after, pageSize));
+    }
+
+    // GET TASKS DUE TODAY --------------------------------------------------------------------------
+    @Operation(
+            summary = "GET TASKS DUE TODAY",
+            description = "You can get Tasks due today, optionally for one Employee. Pass the X-Next-Cursor header value as 'after' to get the next page",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @CrossOrigin(exposedHeaders = NEXT_CURSOR_HEADER)
+    @GetMapping("/task-due-today")
+    public ResponseEntity<List<TaskDTO>> getTaskDueToday(@RequestParam(value = "empId", required = false) Long empId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        return cursorPage(taskService.getTaskDueToday(empId, after, pageSize));
+    }
+
+    // GET OVERDUE TASKS ----------------------------------------------------------------------------
+    @Operation(
+            summary = "GET OVERDUE TASKS",
+            description = "You can get Tasks that are past their due date and not 'Completed', optionally for one Employee, oldest first. " +
+                    "Pass the X-Next-Cursor header value as 'after' to get the next page",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @CrossOrigin(exposedHeaders = NEXT_CURSOR_HEADER)
+    @GetMapping("/task-overdue")
+    public ResponseEntity<List<TaskDTO>> getOverdueTask(@RequestParam(value = "empId", required = false) Long empId, @RequestParam(value = "after", required = false) String after, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        return cursorPage(taskService.getOverdueTask(empId, after, pageSize));
+    }
+
+    // SEARCH TASKS ---------------------------------------------------------------------------------
+    @Operation(
+            summary = "SEARCH TASKS",
+            description = "You can search Tasks by keywords in their title and description, best match first. " +
+                    "Every word has to match, \"quoted words\" have to match as a phrase, 'or' between words matches " +
+                    "either side and '-word' leaves out tasks containing the word. A query matching more tasks than " +
+                    "taskmaster.search.max-candidates only ranks the most recent ones and sets X-Search-Truncated: true",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Employee/Task object not found | NOT_FOUND",
+                            responseCode = "404",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/task-search")
+    @CrossOrigin(exposedHeaders = SEARCH_TRUNCATED_HEADER)
+    public ResponseEntity<List<TaskDTO>> searchTasks(@RequestParam("q") String query, @RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+        SearchPageDTO<TaskDTO> page = taskSearchService.searchTasks(query, pageNumber, pageSize);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.isTruncated()) {
+            headers.set(SEARCH_TRUNCATED_HEADER, "true");
+        }
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
     // GET TASK BY ID -------------------------------------------------------------------------------
     @Operation(
             summary = "GET TASK BY ID",
-            description = "You can get task by ID",
+            description = "You can get task by ID. Send the last ETag in If-None-Match to get a 304 when nothing changed",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -170,6 +544,10 @@ public class TaskController {
                                     schema = @Schema(implementation = TaskMasterException.class)
                             )
                     ),
+                    @ApiResponse(
+                            description = "NOT_MODIFIED, the If-None-Match ETag is still current",
+                            responseCode = "304"
+                    ),
                     @ApiResponse(
                             description = "Client Side Error | BAD_REQUEST",
                             responseCode = "400",
@@ -188,15 +566,17 @@ public class TaskController {
     )
 
     @GetMapping("/task/{taskId}")
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable("taskId") Long taskId) {
-        return new ResponseEntity<>(taskService.getTaskById(taskId), HttpStatus.OK);
+        TaskDTO task = taskService.getTaskById(taskId);
+        return ResponseEntity.ok().eTag(ETags.ofVersion(task.getVersion())).body(task);
     }
 
     // GET ALL TASKS --------------------------------------------------------------------------------
     @Operation(
             summary = "GET ALL TASKS",
-            description = "You can all Tasks",
+            description = "You can all Tasks. Pass 'after' (empty for the first page) to page by cursor instead of " +
+                    "pageNumber; the next cursor is returned in the X-Next-Cursor header",
             responses = {
                     @ApiResponse(
                             description = "OK",
@@ -230,12 +610,54 @@ public class TaskController {
                     )
             }
     )
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = NEXT_CURSOR_HEADER)
     @GetMapping("/task")
-    public ResponseEntity<List<TaskDTO>> getAllTask(@RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize) {
+    public ResponseEntity<List<TaskDTO>> getAllTask(@RequestParam(value = "pageNumber", defaultValue = "0", required = false) Integer pageNumber, @RequestParam(value = "pageSize", defaultValue = "3", required = false) Integer pageSize, @RequestParam(value = "after", required = false) String after) {
+        if (after != null) {
+            return cursorPage(taskService.getAllTaskAfter(after, pageSize));
+        }
         return new ResponseEntity<>(taskService.getAllTask(pageNumber, pageSize), HttpStatus.OK);
     }
 
+    // EXPORT TASKS ---------------------------------------------------------------------------------
+    @Operation(
+            summary = "EXPORT TASKS",
+            description = "You can stream every Task as NDJSON or CSV, optionally filtered by Employee ID and/or status",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @GetMapping("/task-export")
+    @CrossOrigin
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(value = "format", defaultValue = "ndjson", required = false) String format, @RequestParam(value = "empId", required = false) Long empId, @RequestParam(value = "taskStatus", required = false) String taskStatus) {
+        // resolved before streaming starts, so a bad format or status still gets a proper error response
+        TaskExportFormat exportFormat = TaskExportFormat.fromParam(format);
+        TaskStatus status = taskStatus == null ? null : TaskStatus.fromLabel(taskStatus);
+        StreamingResponseBody body = out -> taskService.exportTasks(empId, status, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
     // DELETE TASK BY ID ----------------------------------------------------------------------------
     @Operation(
             summary = "DELETE TASK BY ID",
@@ -275,4 +697,89 @@ public class TaskController {
         taskService.deleteTaskById(taskId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    // BULK STATUS CHANGE ---------------------------------------------------------------------------
+    @Operation(
+            summary = "BULK STATUS CHANGE",
+            description = "You can move every task matching taskIds, employeeId, taskStatus and the dueFrom/dueTo range (dd-MM-yyyy) to newStatus in one request. At least one filter is required; the number of tasks changed is returned",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskBulkResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/task-bulk")
+    @CrossOrigin
+    public ResponseEntity<TaskBulkResultDTO> updateTaskStatusBulk(@RequestBody TaskBulkDTO taskBulkDTO) {
+        return new ResponseEntity<>(taskService.updateTaskStatusBulk(taskBulkDTO), HttpStatus.OK);
+    }
+
+    // BULK DELETE ----------------------------------------------------------------------------------
+    @Operation(
+            summary = "BULK DELETE",
+            description = "You can delete every task matching taskIds, employeeId, taskStatus and the dueFrom/dueTo range (dd-MM-yyyy) in one request. At least one filter is required; the number of tasks deleted is returned",
+            responses = {
+                    @ApiResponse(
+                            description = "OK",
+                            responseCode = "200",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskBulkResultDTO.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Client Side Error | BAD_REQUEST",
+                            responseCode = "400",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    ),
+                    @ApiResponse(
+                            description = "Server Side Error | INTERNAL_SERVER_ERROR",
+                            responseCode = "500",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskMasterException.class)
+                            )
+                    )
+            }
+    )
+    @DeleteMapping("/task-bulk")
+    @CrossOrigin
+    public ResponseEntity<TaskBulkResultDTO> deleteTaskBulk(@RequestBody TaskBulkDTO taskBulkDTO) {
+        return new ResponseEntity<>(taskService.deleteTaskBulk(taskBulkDTO), HttpStatus.OK);
+    }
+
+    // keyset listings: the page goes in the body, the cursor for the next one in X-Next-Cursor
+    private static ResponseEntity<List<TaskDTO>> cursorPage(CursorPageDTO<TaskDTO> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    private static LocalDate parseDueDate(String name, String value) {
+        try {
+            return LocalDate.parse(value.strip(), DUE_DATE_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidDueDateException("Invalid '" + name + "' date: " + value);
+        }
+    }
 }
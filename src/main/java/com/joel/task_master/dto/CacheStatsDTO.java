@@ -0,0 +1,64 @@
+package com.joel.task_master.dto;
+
+public class CacheStatsDTO {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private String cacheName;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public CacheStatsDTO() {
+    }
+    public CacheStatsDTO(String cacheName, long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public String getCacheName() {
+        return cacheName;
+    }
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+    public long getSize() {
+        return size;
+    }
+    public void setSize(long size) {
+        this.size = size;
+    }
+    public long getHitCount() {
+        return hitCount;
+    }
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+    public long getMissCount() {
+        return missCount;
+    }
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+    public double getHitRate() {
+        return hitRate;
+    }
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
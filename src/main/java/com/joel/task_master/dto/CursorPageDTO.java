@@ -0,0 +1,34 @@
+package com.joel.task_master.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private List<T> content;
+    private String nextCursor;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public CursorPageDTO() {
+    }
+    public CursorPageDTO(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public List<T> getContent() {
+        return content;
+    }
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
@@ -1,11 +1,15 @@
 package com.joel.task_master.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class EmployeeDTO {
     // FIELDS ------------------------------------------------------------------------------------------------------
     private Long empId;
     private String empName;
     private String empEmail;
     private String empDesignation;
+    @JsonIgnore
+    private Long version;
     // FIELDS ------------------------------------------------------------------------------------------------------
 
     // CONSTRUCTORS ------------------------------------------------------------------------------------------------
@@ -17,6 +21,10 @@ public class EmployeeDTO {
         this.empEmail = empEmail;
         this.empDesignation = empDesignation;
     }
+    public EmployeeDTO(Long empId, String empName, String empEmail, String empDesignation, Long version) {
+        this(empId, empName, empEmail, empDesignation);
+        this.version = version;
+    }
     // CONSTRUCTORS ------------------------------------------------------------------------------------------------
 
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
@@ -44,5 +52,11 @@ public class EmployeeDTO {
     public void setEmpDesignation(String empDesignation) {
         this.empDesignation = empDesignation;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
 }
@@ -0,0 +1,43 @@
+package com.joel.task_master.dto;
+
+import java.util.Map;
+
+public class EmployeeTaskCountDTO {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private Long empId;
+    // status label -> number of tasks, every status present
+    private Map<String, Long> taskCounts;
+    private long totalTasks;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public EmployeeTaskCountDTO() {
+    }
+    public EmployeeTaskCountDTO(Long empId, Map<String, Long> taskCounts, long totalTasks) {
+        this.empId = empId;
+        this.taskCounts = taskCounts;
+        this.totalTasks = totalTasks;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public Long getEmpId() {
+        return empId;
+    }
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    public Map<String, Long> getTaskCounts() {
+        return taskCounts;
+    }
+    public void setTaskCounts(Map<String, Long> taskCounts) {
+        this.taskCounts = taskCounts;
+    }
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,40 @@
+package com.joel.task_master.dto;
+
+public class ImportResultDTO {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private long employees;
+    private long tasks;
+    private long millis;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public ImportResultDTO() {
+    }
+    public ImportResultDTO(long employees, long tasks, long millis) {
+        this.employees = employees;
+        this.tasks = tasks;
+        this.millis = millis;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public long getEmployees() {
+        return employees;
+    }
+    public void setEmployees(long employees) {
+        this.employees = employees;
+    }
+    public long getTasks() {
+        return tasks;
+    }
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+    public long getMillis() {
+        return millis;
+    }
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
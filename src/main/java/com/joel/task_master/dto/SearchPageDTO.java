@@ -0,0 +1,35 @@
+package com.joel.task_master.dto;
+
+import java.util.List;
+
+public class SearchPageDTO<T> {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private List<T> content;
+    // more tasks matched than the engine ranks, only the most recent ones were ranked
+    private boolean truncated;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public SearchPageDTO() {
+    }
+    public SearchPageDTO(List<T> content, boolean truncated) {
+        this.content = content;
+        this.truncated = truncated;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public List<T> getContent() {
+        return content;
+    }
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    public boolean isTruncated() {
+        return truncated;
+    }
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
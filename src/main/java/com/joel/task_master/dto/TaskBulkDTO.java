@@ -0,0 +1,74 @@
+package com.joel.task_master.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.joel.task_master.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// which tasks a bulk status change or delete applies to: every filter that is set has to match
+public class TaskBulkDTO {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private List<Long> taskIds;
+    private Long employeeId;
+    private TaskStatus taskStatus;
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate dueFrom;
+    @JsonFormat(pattern = "dd-MM-yyyy")
+    private LocalDate dueTo;
+    // the status to move the matching tasks to, bulk status changes only
+    private TaskStatus newStatus;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public TaskBulkDTO() {
+    }
+    public TaskBulkDTO(List<Long> taskIds, Long employeeId, TaskStatus taskStatus, LocalDate dueFrom, LocalDate dueTo, TaskStatus newStatus) {
+        this.taskIds = taskIds;
+        this.employeeId = employeeId;
+        this.taskStatus = taskStatus;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+        this.newStatus = newStatus;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+    public void setTaskStatus(TaskStatus taskStatus) {
+        this.taskStatus = taskStatus;
+    }
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+    public TaskStatus getNewStatus() {
+        return newStatus;
+    }
+    public void setNewStatus(TaskStatus newStatus) {
+        this.newStatus = newStatus;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
@@ -0,0 +1,32 @@
+package com.joel.task_master.dto;
+
+public class TaskBulkResultDTO {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    private long tasks;
+    private long millis;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public TaskBulkResultDTO() {
+    }
+    public TaskBulkResultDTO(long tasks, long millis) {
+        this.tasks = tasks;
+        this.millis = millis;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public long getTasks() {
+        return tasks;
+    }
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+    public long getMillis() {
+        return millis;
+    }
+    public void setMillis(long millis) {
+        this.millis = millis;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+}
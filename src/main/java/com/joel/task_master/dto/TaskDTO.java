@@ -1,24 +1,28 @@
 package com.joel.task_master.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.joel.task_master.model.TaskStatus;
 
-import java.util.Date;
+import java.time.LocalDate;
 
 public class TaskDTO {
     // FIELDS ------------------------------------------------------------------------------------------------------
     private Long taskId;
     private String taskTitle;
     private String taskDescription;
-    private String taskStatus;
+    private TaskStatus taskStatus;
     @JsonFormat(pattern = "dd-MM-yyyy")
-    private Date dueDate;
+    private LocalDate dueDate;
     private Long employeeId;
+    @JsonIgnore
+    private Long version;
     // FIELDS ------------------------------------------------------------------------------------------------------
 
     // CONSTRUCTORS ------------------------------------------------------------------------------------------------
     public TaskDTO() {
     }
-    public TaskDTO(Long taskId, String taskTitle, String taskDescription, String taskStatus, Date dueDate, Long employeeId) {
+    public TaskDTO(Long taskId, String taskTitle, String taskDescription, TaskStatus taskStatus, LocalDate dueDate, Long employeeId) {
         this.taskId = taskId;
         this.taskTitle = taskTitle;
         this.taskDescription = taskDescription;
@@ -26,6 +30,10 @@ public class TaskDTO {
         this.dueDate = dueDate;
         this.employeeId = employeeId;
     }
+    public TaskDTO(Long taskId, String taskTitle, String taskDescription, TaskStatus taskStatus, LocalDate dueDate, Long employeeId, Long version) {
+        this(taskId, taskTitle, taskDescription, taskStatus, dueDate, employeeId);
+        this.version = version;
+    }
     // CONSTRUCTORS ------------------------------------------------------------------------------------------------
 
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
@@ -47,16 +55,16 @@ public class TaskDTO {
     public void setTaskDescription(String taskDescription) {
         this.taskDescription = taskDescription;
     }
-    public String getTaskStatus() {
+    public TaskStatus getTaskStatus() {
         return taskStatus;
     }
-    public void setTaskStatus(String taskStatus) {
+    public void setTaskStatus(TaskStatus taskStatus) {
         this.taskStatus = taskStatus;
     }
-    public Date getDueDate() {
+    public LocalDate getDueDate() {
         return dueDate;
     }
-    public void setDueDate(Date dueDate) {
+    public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
     public Long getEmployeeId() {
@@ -65,5 +73,11 @@ public class TaskDTO {
     public void setEmployeeId(Long employeeId) {
         this.employeeId = employeeId;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
 }
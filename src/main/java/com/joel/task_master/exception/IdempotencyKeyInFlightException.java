@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class IdempotencyKeyInFlightException extends RuntimeException{
+    public IdempotencyKeyInFlightException(String message) {
+        super(message);
+    }
+}
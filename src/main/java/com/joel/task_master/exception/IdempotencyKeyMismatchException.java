@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException{
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
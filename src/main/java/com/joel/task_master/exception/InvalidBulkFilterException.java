@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidBulkFilterException extends RuntimeException{
+    public InvalidBulkFilterException(String message) {
+        super(message);
+    }
+}
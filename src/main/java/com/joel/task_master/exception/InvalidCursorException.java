@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
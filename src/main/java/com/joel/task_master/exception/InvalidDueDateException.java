@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidDueDateException extends RuntimeException{
+    public InvalidDueDateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidExportFormatException extends RuntimeException{
+    public InvalidExportFormatException(String message) {
+        super(message);
+    }
+}
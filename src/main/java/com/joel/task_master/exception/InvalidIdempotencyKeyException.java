@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException{
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
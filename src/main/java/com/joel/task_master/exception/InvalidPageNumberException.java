@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidPageNumberException extends RuntimeException{
+    public InvalidPageNumberException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidPageSizeException extends RuntimeException{
+    public InvalidPageSizeException(String message) {
+        super(message);
+    }
+}
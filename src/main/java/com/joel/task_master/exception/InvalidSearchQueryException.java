@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidSearchQueryException extends RuntimeException{
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class InvalidTaskStatusException extends RuntimeException{
+    public InvalidTaskStatusException(String message) {
+        super(message);
+    }
+}
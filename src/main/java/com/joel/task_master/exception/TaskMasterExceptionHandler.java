@@ -1,8 +1,12 @@
 package com.joel.task_master.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -11,6 +15,9 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
 @ControllerAdvice
 public class TaskMasterExceptionHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @ExceptionHandler(value = {
             EmployeeNotFoundException.class,
             NumberFormatException.class,
@@ -18,6 +25,16 @@ public class TaskMasterExceptionHandler {
             MethodArgumentTypeMismatchException.class
     })
     public ResponseEntity<Object> handleExceptions(Exception ex) {
+        ResponseEntity<Object> response = buildResponse(ex);
+        // one counter per exception type and the status it was mapped to: taskmaster_exceptions_total{exception,status}
+        meterRegistry.counter("taskmaster.exceptions",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(response.getStatusCode().value())
+        ).increment();
+        return response;
+    }
+
+    private ResponseEntity<Object> buildResponse(Exception ex) {
         // EMPLOYEE NOT FOUND EXCEPTION
         if (ex instanceof EmployeeNotFoundException) {
             TaskMasterException error = new TaskMasterException(
@@ -68,6 +85,160 @@ public class TaskMasterExceptionHandler {
                     );
             return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
         }
+        // INVALID CURSOR EXCEPTION
+        else if (ex instanceof InvalidCursorException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Use the cursor returned in the X-Next-Cursor header, or an empty 'after' for the first page!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID PAGE SIZE EXCEPTION
+        else if (ex instanceof InvalidPageSizeException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Ask for at least one row per page, and no more than the maximum page size!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID PAGE NUMBER EXCEPTION
+        else if (ex instanceof InvalidPageNumberException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Page numbers start at 0!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID EXPORT FORMAT EXCEPTION
+        else if (ex instanceof InvalidExportFormatException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Supported export formats are 'ndjson' and 'csv'!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID TASK STATUS EXCEPTION
+        else if (ex instanceof InvalidTaskStatusException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Supported task statuses are 'Pending', 'In progress', 'On hold' and 'Completed'!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID DUE DATE EXCEPTION
+        else if (ex instanceof InvalidDueDateException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Due dates use the dd-MM-yyyy format and 'from' can't be after 'to'!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID SEARCH QUERY EXCEPTION
+        else if (ex instanceof InvalidSearchQueryException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Pass the words to search for in the 'q' parameter!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID BULK FILTER EXCEPTION
+        else if (ex instanceof InvalidBulkFilterException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Bulk operations need a filter, they never apply to every task at once!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // INVALID IDEMPOTENCY KEY EXCEPTION
+        else if (ex instanceof InvalidIdempotencyKeyException) {
+            TaskMasterException error = new TaskMasterException(
+                    400,
+                    HttpStatus.BAD_REQUEST,
+                    ex.getMessage(),
+                    "Send a unique value, e.g. a UUID, in Idempotency-Key and the same value again when retrying!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        }
+        // IDEMPOTENCY KEY IN FLIGHT EXCEPTION
+        else if (ex instanceof IdempotencyKeyInFlightException) {
+            TaskMasterException error = new TaskMasterException(
+                    409,
+                    HttpStatus.CONFLICT,
+                    ex.getMessage(),
+                    "The first request with this Idempotency-Key hasn't finished yet, retry with the same key later!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        }
+        // IDEMPOTENCY KEY MISMATCH EXCEPTION
+        else if (ex instanceof IdempotencyKeyMismatchException) {
+            TaskMasterException error = new TaskMasterException(
+                    422,
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    ex.getMessage(),
+                    "A retry has to repeat the first request exactly, use a new Idempotency-Key for a new request!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        // VERSION MISMATCH EXCEPTION
+        else if (ex instanceof VersionMismatchException) {
+            TaskMasterException error = new TaskMasterException(
+                    412,
+                    HttpStatus.PRECONDITION_FAILED,
+                    ex.getMessage(),
+                    "The If-Match ETag is stale, GET the resource again and retry with its current ETag!!"
+                    );
+            return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+        }
+        // RATE LIMIT EXCEEDED EXCEPTION
+        else if (ex instanceof RateLimitExceededException rateLimitExceeded) {
+            TaskMasterException error = new TaskMasterException(
+                    429,
+                    HttpStatus.TOO_MANY_REQUESTS,
+                    ex.getMessage(),
+                    "The request rate limit was reached, retry after the number of seconds in Retry-After!!"
+                    );
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(rateLimitExceeded.getRetryAfterSeconds()))
+                    .body(error);
+        }
+        // SERVICE OVERLOADED EXCEPTION
+        else if (ex instanceof ServiceOverloadedException serviceOverloaded) {
+            TaskMasterException error = new TaskMasterException(
+                    503,
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    ex.getMessage(),
+                    "The server is shedding load to stay responsive, retry after the number of seconds in Retry-After!!"
+                    );
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(serviceOverloaded.getRetryAfterSeconds()))
+                    .body(error);
+        }
+        // ObjectOptimisticLockingFailureException
+        else if (ex instanceof ObjectOptimisticLockingFailureException) {
+            TaskMasterException error = new TaskMasterException(
+                    409,
+                    HttpStatus.CONFLICT,
+                    "The resource was modified by another request at the same time, GET it again and retry!!",
+                    ex.getMessage()
+                    );
+            return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+        }
         // NoResourceFoundException
         else if (ex instanceof NoResourceFoundException) {
             TaskMasterException error = new TaskMasterException(
@@ -0,0 +1,7 @@
+package com.joel.task_master.exception;
+
+public class VersionMismatchException extends RuntimeException{
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,19 +1,38 @@
 package com.joel.task_master.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.joel.task_master.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import java.time.Instant;
 import java.util.List;
 
 @Entity
+// soft-deleted employees are gone for every entity and JPQL read, until EmployeePurger removes the rows
+@SQLRestriction("deleted_at is null")
 public class Employee {
     // FIELDS ------------------------------------------------------------------------------------------------------
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "empIdGenerator")
-    @SequenceGenerator(name = "empIdGenerator", sequenceName = "joelSequence", allocationSize = 1, initialValue = 101)
+    @GeneratedValue(generator = "empIdGenerator")
+    @GenericGenerator(name = "empIdGenerator", type = PooledSequenceGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "joelSequence"),
+            @Parameter(name = SequenceStyleGenerator.INITIAL_PARAM, value = "101")
+    })
     private Long empId;
     private String empName;
     private String empEmail;
     private String empDesignation;
+    // row version: drives optimistic locking and the ETags served by the controllers
+    @Version
+    @JsonIgnore
+    private Long version;
+    // set by a soft delete (taskmaster.employee.soft-delete), the row and its tasks are purged in the background
+    @JsonIgnore
+    private Instant deletedAt;
 
     @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL)
     private List<Task> tasks;
@@ -63,6 +82,18 @@ public class Employee {
     public void setTasks(List<Task> tasks) {
         this.tasks = tasks;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
 
 }
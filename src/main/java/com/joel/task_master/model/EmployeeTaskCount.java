@@ -0,0 +1,75 @@
+package com.joel.task_master.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// number of tasks an employee has per status, kept current by the task/employee writes in the same transaction
+@Entity
+@IdClass(EmployeeTaskCount.Key.class)
+public class EmployeeTaskCount {
+    // FIELDS ------------------------------------------------------------------------------------------------------
+    // plain IDs, no foreign key: the counters are written next to the task rows, never through the associations
+    @Id
+    private Long empId;
+    // TaskStatus code, like the task_status column it mirrors
+    @Id
+    private Short taskStatus;
+    private Long taskCount;
+    // FIELDS ------------------------------------------------------------------------------------------------------
+
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+    public EmployeeTaskCount() {
+    }
+    public EmployeeTaskCount(Long empId, Short taskStatus, Long taskCount) {
+        this.empId = empId;
+        this.taskStatus = taskStatus;
+        this.taskCount = taskCount;
+    }
+    // CONSTRUCTORS ------------------------------------------------------------------------------------------------
+
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+    public Long getEmpId() {
+        return empId;
+    }
+    public void setEmpId(Long empId) {
+        this.empId = empId;
+    }
+    public Short getTaskStatus() {
+        return taskStatus;
+    }
+    public void setTaskStatus(Short taskStatus) {
+        this.taskStatus = taskStatus;
+    }
+    public Long getTaskCount() {
+        return taskCount;
+    }
+    public void setTaskCount(Long taskCount) {
+        this.taskCount = taskCount;
+    }
+    // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
+
+    public static class Key implements Serializable {
+        private Long empId;
+        private Short taskStatus;
+
+        public Key() {
+        }
+        public Key(Long empId, Short taskStatus) {
+            this.empId = empId;
+            this.taskStatus = taskStatus;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && Objects.equals(empId, key.empId) && Objects.equals(taskStatus, key.taskStatus);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hash(empId, taskStatus);
+        }
+    }
+}
@@ -2,23 +2,46 @@ package com.joel.task_master.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.joel.task_master.config.PooledSequenceGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
-import java.util.Date;
+import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        // employee + status listings and the per-employee export filter, ordered by due date straight from the index
+        @Index(name = "idx_task_employee_status_due", columnList = "fk_employee, task_status, due_date, task_id"),
+        // status listings across all employees
+        @Index(name = "idx_task_status_due", columnList = "task_status, due_date, task_id"),
+        // due date ranges (due between, due today, overdue) per employee and across all employees
+        @Index(name = "idx_task_employee_due", columnList = "fk_employee, due_date, task_id"),
+        @Index(name = "idx_task_due", columnList = "due_date, task_id")
+})
 public class Task {
     // FIELDS ------------------------------------------------------------------------------------------------------
+    // pooled sequence instead of IDENTITY: IDENTITY forces an immediate INSERT per row and disables JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "taskIdGenerator")
+    @GenericGenerator(name = "taskIdGenerator", type = PooledSequenceGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "taskSequence")
+    })
     private Long taskId;
     private String taskTitle;
     private String taskDescription;
-    private String taskStatus;
+    private TaskStatus taskStatus;
+    // calendar date only, mapped to a DATE column so range predicates compare plain days
     @JsonFormat(pattern = "dd-MM-yyyy")
-    private Date dueDate;
+    private LocalDate dueDate;
+    // row version: drives optimistic locking and the ETags served by the controllers
+    @Version
+    @JsonIgnore
+    private Long version;
 
-    @ManyToOne
+    // LAZY: list paths read fk_employee directly, only code that really needs the employee should load it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "fk_employee")
     @JsonIgnore
     private Employee employee;
@@ -27,7 +50,7 @@ public class Task {
     // CONSTRUCTORS ------------------------------------------------------------------------------------------------
     public Task() {
     }
-    public Task(Long taskId, String taskTitle, String taskDescription, String taskStatus, Date dueDate, Employee employee) {
+    public Task(Long taskId, String taskTitle, String taskDescription, TaskStatus taskStatus, LocalDate dueDate, Employee employee) {
         this.taskId = taskId;
         this.taskTitle = taskTitle;
         this.taskDescription = taskDescription;
@@ -57,16 +80,16 @@ public class Task {
     public void setTaskDescription(String taskDescription) {
         this.taskDescription = taskDescription;
     }
-    public String getTaskStatus() {
+    public TaskStatus getTaskStatus() {
         return taskStatus;
     }
-    public void setTaskStatus(String taskStatus) {
+    public void setTaskStatus(TaskStatus taskStatus) {
         this.taskStatus = taskStatus;
     }
-    public Date getDueDate() {
+    public LocalDate getDueDate() {
         return dueDate;
     }
-    public void setDueDate(Date dueDate) {
+    public void setDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
     }
     public Employee getEmployee() {
@@ -75,6 +98,12 @@ public class Task {
     public void setEmployee(Employee employee) {
         this.employee = employee;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
     // GETTERS/SETTERS ---------------------------------------------------------------------------------------------
 
 }
@@ -0,0 +1,55 @@
+package com.joel.task_master.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.joel.task_master.exception.InvalidTaskStatusException;
+
+import java.util.Locale;
+
+// Stored as its code (smallint) through TaskStatusConverter, exchanged as its label so the JSON stays "In progress"/"Completed".
+// Codes are persisted: never renumber them, only add new ones.
+public enum TaskStatus {
+    PENDING((short) 0, "Pending"),
+    IN_PROGRESS((short) 1, "In progress"),
+    ON_HOLD((short) 2, "On hold"),
+    COMPLETED((short) 3, "Completed");
+
+    private final short code;
+    private final String label;
+
+    TaskStatus(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // accepts the label in any case plus the constant name, so "In progress", "in-progress" and "IN_PROGRESS" all work
+    @JsonCreator
+    public static TaskStatus fromLabel(String status) {
+        if (status != null) {
+            String normalized = status.strip().replace('_', ' ').replace('-', ' ').toLowerCase(Locale.ROOT);
+            for (TaskStatus taskStatus : values()) {
+                if (taskStatus.label.toLowerCase(Locale.ROOT).equals(normalized)) {
+                    return taskStatus;
+                }
+            }
+        }
+        throw new InvalidTaskStatusException("Unsupported task status: " + status);
+    }
+
+    public static TaskStatus fromCode(short code) {
+        for (TaskStatus taskStatus : values()) {
+            if (taskStatus.code == code) {
+                return taskStatus;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task status code in the database: " + code);
+    }
+}
@@ -0,0 +1,19 @@
+package com.joel.task_master.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// explicit codes instead of @Enumerated(ORDINAL): reordering or inserting constants can't silently remap stored rows
+@Converter(autoApply = true)
+public class TaskStatusConverter implements AttributeConverter<TaskStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskStatus taskStatus) {
+        return taskStatus == null ? null : taskStatus.getCode();
+    }
+
+    @Override
+    public TaskStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : TaskStatus.fromCode(code);
+    }
+}
@@ -1,6 +1,67 @@
 package com.joel.task_master.repository;
 
+import com.joel.task_master.dto.EmployeeDTO;
 import com.joel.task_master.model.Employee;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    // DTO PROJECTIONS: built straight from the selected columns, no managed entities or snapshots -------------
+    @Query("select new com.joel.task_master.dto.EmployeeDTO(e.empId, e.empName, e.empEmail, e.empDesignation, e.version) " +
+            "from Employee e where e.empId = :empId")
+    Optional<EmployeeDTO> findEmployeeDTOById(@Param("empId") Long empId);
+
+    // single join that reads only the employee columns
+    @Query("select new com.joel.task_master.dto.EmployeeDTO(e.empId, e.empName, e.empEmail, e.empDesignation, e.version) " +
+            "from Task t join t.employee e where t.taskId = :taskId")
+    Optional<EmployeeDTO> findEmployeeDTOByTaskId(@Param("taskId") Long taskId);
+
+    // offset paging without the extra count(*) query that Page needs
+    @Query("select new com.joel.task_master.dto.EmployeeDTO(e.empId, e.empName, e.empEmail, e.empDesignation, e.version) " +
+            "from Employee e")
+    Slice<EmployeeDTO> findAllEmployeeDTO(Pageable pageable);
+
+    // keyset paging: constant cost per page, no OFFSET and no count(*)
+    @Query("select new com.joel.task_master.dto.EmployeeDTO(e.empId, e.empName, e.empEmail, e.empDesignation, e.version) " +
+            "from Employee e where e.empId > :empId order by e.empId")
+    List<EmployeeDTO> findEmployeeDTOAfter(@Param("empId") Long empId, Limit limit);
+    // DTO PROJECTIONS ------------------------------------------------------------------------------------------
+
+    // one IN query to resolve every employee referenced by a bulk request
+    @Query("select e.empId from Employee e where e.empId in :empIds")
+    Set<Long> findExistingEmpIds(@Param("empIds") Collection<Long> empIds);
+
+    // every employee, for the task count summary
+    @Query("select e.empId from Employee e order by e.empId")
+    List<Long> findAllEmpIds();
+
+    // single conditional DELETE, the affected row count tells whether the employee existed
+    @Modifying
+    @Query("delete from Employee e where e.empId = :empId")
+    int deleteByEmpId(@Param("empId") Long empId);
+
+    // SOFT DELETE: one row UPDATE now, EmployeePurger removes the rows later --------------------------------
+    @Modifying
+    @Query("update Employee e set e.deletedAt = :deletedAt, e.version = e.version + 1 where e.empId = :empId")
+    int softDeleteByEmpId(@Param("empId") Long empId, @Param("deletedAt") Instant deletedAt);
+
+    // native: the entity's deleted_at restriction would hide exactly these rows
+    @Query(value = "select emp_id from employee where deleted_at is not null order by deleted_at limit :limit", nativeQuery = true)
+    List<Long> findSoftDeletedEmpIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from employee where emp_id = :empId and deleted_at is not null", nativeQuery = true)
+    int purgeByEmpId(@Param("empId") Long empId);
+}
@@ -0,0 +1,51 @@
+package com.joel.task_master.repository;
+
+import com.joel.task_master.model.EmployeeTaskCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeTaskCountRepository extends JpaRepository<EmployeeTaskCount, EmployeeTaskCount.Key> {
+
+    @Query("select c from EmployeeTaskCount c where c.empId in :empIds")
+    List<EmployeeTaskCount> findByEmpIds(@Param("empIds") Collection<Long> empIds);
+
+    // in-place increments: concurrent writers for the same employee queue on the row lock instead of losing updates
+    @Modifying
+    @Query("update EmployeeTaskCount c set c.taskCount = c.taskCount + :delta where c.empId = :empId and c.taskStatus = :taskStatus")
+    int addToTaskCount(@Param("empId") Long empId, @Param("taskStatus") Short taskStatus, @Param("delta") long delta);
+
+    // the first write for an (employee, status) without a row starts it at the delta, never below zero. DO NOTHING
+    // (the primary key is the only unique constraint) when a concurrent first writer got there first: it returns 0
+    // once that row is committed, then add to it. A soft-deleted employee gets no row back, its counters are gone
+    @Modifying
+    @Query(value = "insert into employee_task_count (emp_id, task_status, task_count) select :empId, :taskStatus, greatest(:delta, 0) " +
+            "where exists (select 1 from employee where emp_id = :empId and deleted_at is null) on conflict do nothing",
+            nativeQuery = true)
+    int insertTaskCount(@Param("empId") Long empId, @Param("taskStatus") Short taskStatus, @Param("delta") long delta);
+
+    // decrements the counter of a task about to be deleted, without loading the task first. FOR UPDATE locks the
+    // task row, so a concurrent status change either finishes first and is seen here, or waits for this transaction
+    @Modifying
+    @Query(value = "update employee_task_count set task_count = task_count - 1 where exists (select 1 from task t " +
+            "where t.task_id = :taskId and t.fk_employee = employee_task_count.emp_id and t.task_status = employee_task_count.task_status " +
+            "for update)",
+            nativeQuery = true)
+    int decrementForTask(@Param("taskId") Long taskId);
+
+    // moves one count from the task's current status to the new one, in a single statement and only if it differs
+    @Modifying
+    @Query(value = "update employee_task_count set task_count = task_count + case when task_status = :taskStatus then 1 else -1 end " +
+            "where exists (select 1 from task t where t.task_id = :taskId and t.fk_employee = employee_task_count.emp_id " +
+            "and t.task_status <> :taskStatus and employee_task_count.task_status in (t.task_status, :taskStatus) for update)",
+            nativeQuery = true)
+    int moveForTask(@Param("taskId") Long taskId, @Param("taskStatus") short taskStatus);
+
+    @Modifying
+    @Query("delete from EmployeeTaskCount c where c.empId = :empId")
+    int deleteByEmpId(@Param("empId") Long empId);
+}
@@ -1,6 +1,141 @@
 package com.joel.task_master.repository;
 
+import com.joel.task_master.dto.TaskDTO;
 import com.joel.task_master.model.Task;
+import com.joel.task_master.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    // a soft-deleted employee's tasks are gone with it until EmployeePurger deletes them: the Employee subquery
+    // brings in its @SQLRestriction, t.employee.empId alone only reads the foreign key column. A semi-join keeps
+    // task the driving table, so the listings below stay ordered index range scans
+    String LIVE_EMPLOYEE = "exists (select 1 from Employee e where e.empId = t.employee.empId)";
+
+    // DTO PROJECTIONS: built straight from the selected columns, no managed entities or snapshots -------------
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.taskId = :taskId")
+    Optional<TaskDTO> findTaskDTOById(@Param("taskId") Long taskId);
+
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId order by t.taskId")
+    List<TaskDTO> findTaskDTOByEmployeeId(@Param("empId") Long empId);
+
+    // one IN query for a page of IDs picked elsewhere, e.g. by the in-memory search index
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.taskId in :taskIds")
+    List<TaskDTO> findTaskDTOByIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    // offset paging without the extra count(*) query that Page needs
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE)
+    Slice<TaskDTO> findAllTaskDTO(Pageable pageable);
+
+    // keyset paging: constant cost per page, no OFFSET and no count(*)
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.taskId > :taskId order by t.taskId")
+    List<TaskDTO> findTaskDTOAfter(@Param("taskId") Long taskId, Limit limit);
+
+    // forward-only cursors for exports, must be consumed inside a transaction and closed. One query per filter
+    // combination, so only the filters that were given reach the SQL and the planner can use the employee and
+    // status indexes; an optional (:param is null or ...) predicate is planned once for any value
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " order by t.taskId")
+    Stream<TaskDTO> streamTaskDTO();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId order by t.taskId")
+    Stream<TaskDTO> streamTaskDTOByEmployeeId(@Param("empId") Long empId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.taskStatus = :taskStatus order by t.taskId")
+    Stream<TaskDTO> streamTaskDTOByStatus(@Param("taskStatus") TaskStatus taskStatus);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId and t.taskStatus = :taskStatus order by t.taskId")
+    Stream<TaskDTO> streamTaskDTOByEmployeeIdAndStatus(@Param("empId") Long empId, @Param("taskStatus") TaskStatus taskStatus);
+
+    // status listings in due date order: index range scans on idx_task_status_due / idx_task_employee_status_due,
+    // the trailing task_id in both indexes also covers the tie-breaker so no sort step is needed
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.taskStatus = :taskStatus order by t.dueDate, t.taskId")
+    Slice<TaskDTO> findTaskDTOByStatus(@Param("taskStatus") TaskStatus taskStatus, Pageable pageable);
+
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId and t.taskStatus = :taskStatus order by t.dueDate, t.taskId")
+    Slice<TaskDTO> findTaskDTOByEmployeeIdAndStatus(@Param("empId") Long empId, @Param("taskStatus") TaskStatus taskStatus, Pageable pageable);
+
+    // due date ranges with a (dueDate, taskId) keyset: the first page passes from/Long.MIN_VALUE, later pages the
+    // last row's key. The plain dueDate bounds keep it a single range scan on idx_task_due / idx_task_employee_due
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.dueDate >= :afterDueDate and t.dueDate <= :to " +
+            "and (t.dueDate > :afterDueDate or t.taskId > :afterTaskId) order by t.dueDate, t.taskId")
+    List<TaskDTO> findTaskDTODueBetween(@Param("afterDueDate") LocalDate afterDueDate, @Param("afterTaskId") Long afterTaskId, @Param("to") LocalDate to, Limit limit);
+
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId and t.dueDate >= :afterDueDate and t.dueDate <= :to " +
+            "and (t.dueDate > :afterDueDate or t.taskId > :afterTaskId) order by t.dueDate, t.taskId")
+    List<TaskDTO> findTaskDTOByEmployeeIdDueBetween(@Param("empId") Long empId, @Param("afterDueDate") LocalDate afterDueDate, @Param("afterTaskId") Long afterTaskId, @Param("to") LocalDate to, Limit limit);
+
+    // overdue = due before today and not completed, same keyset as the due date ranges: the first page passes a
+    // sentinel date/Long.MIN_VALUE, so afterDueDate always bounds the idx_task_due / idx_task_employee_due range scan
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.dueDate >= :afterDueDate and t.dueDate < :today and t.taskStatus <> :completed " +
+            "and (t.dueDate > :afterDueDate or t.taskId > :afterTaskId) " +
+            "order by t.dueDate, t.taskId")
+    List<TaskDTO> findOverdueTaskDTO(@Param("today") LocalDate today, @Param("completed") TaskStatus completed, @Param("afterDueDate") LocalDate afterDueDate, @Param("afterTaskId") Long afterTaskId, Limit limit);
+
+    @Query("select new com.joel.task_master.dto.TaskDTO(t.taskId, t.taskTitle, t.taskDescription, t.taskStatus, t.dueDate, t.employee.empId, t.version) " +
+            "from Task t where " + LIVE_EMPLOYEE + " and t.employee.empId = :empId and t.dueDate >= :afterDueDate and t.dueDate < :today and t.taskStatus <> :completed " +
+            "and (t.dueDate > :afterDueDate or t.taskId > :afterTaskId) " +
+            "order by t.dueDate, t.taskId")
+    List<TaskDTO> findOverdueTaskDTOByEmployeeId(@Param("empId") Long empId, @Param("today") LocalDate today, @Param("completed") TaskStatus completed, @Param("afterDueDate") LocalDate afterDueDate, @Param("afterTaskId") Long afterTaskId, Limit limit);
+    // DTO PROJECTIONS ------------------------------------------------------------------------------------------
+
+    // the managed entity for a full update, behind the same check as the projections: a soft-deleted employee's
+    // tasks can't be written either
+    @Query("select t from Task t where t.taskId = :taskId and " + LIVE_EMPLOYEE)
+    Optional<Task> findLiveById(@Param("taskId") Long taskId);
+
+    // single conditional DELETE, the affected row count tells whether the task existed (and its employee still does)
+    @Modifying
+    @Query("delete from Task t where t.taskId = :taskId and " + LIVE_EMPLOYEE)
+    int deleteByTaskId(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("delete from Task t where t.employee.empId = :empId")
+    int deleteByEmployeeId(@Param("empId") Long empId);
+
+    // one bounded batch of a soft-deleted employee's tasks, so no purge transaction grows with the employee's history
+    @Modifying
+    @Query(value = "delete from task where task_id in (select task_id from task where fk_employee = :empId limit :limit)", nativeQuery = true)
+    int deleteBatchByEmployeeId(@Param("empId") Long empId, @Param("limit") int limit);
+
+    // bulk status change: one UPDATE per chunk of IDs, with the version bump @Version would have done
+    @Modifying
+    @Query("update Task t set t.taskStatus = :taskStatus, t.version = t.version + 1 where t.taskId in :taskIds")
+    int updateTaskStatusByTaskIdIn(@Param("taskIds") Collection<Long> taskIds, @Param("taskStatus") TaskStatus taskStatus);
+
+    @Modifying
+    @Query("delete from Task t where t.taskId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,14 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.CacheStatsDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CacheService {
+
+    List<CacheStatsDTO> getCacheStats();
+    void evictEmployee(Long empId, boolean tasksDeleted);
+    void evictTasks(Collection<Long> taskIds, boolean tasksDeleted);
+
+}
@@ -0,0 +1,94 @@
+package com.joel.task_master.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.joel.task_master.config.CacheConfig;
+import com.joel.task_master.dto.CacheStatsDTO;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // CACHE STATS ----------------------------------------------------------------------------------
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        List<CacheStatsDTO> cacheStats = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(cacheName).getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats stats = caffeine.stats();
+                cacheStats.add(new CacheStatsDTO(cacheName, caffeine.estimatedSize(), stats.hitCount(),
+                        stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        return cacheStats;
+    }
+
+    // EVICT EMPLOYEE -------------------------------------------------------------------------------
+    // taskEmployees is keyed by task ID (and tasks, once the employee's tasks are deleted), so the entries
+    // that belong to an employee can only be found by value; employee writes are rare enough for the scan
+    @Override
+    public void evictEmployee(Long empId, boolean tasksDeleted) {
+        Runnable eviction = () -> {
+            evictValues(CacheConfig.TASK_EMPLOYEES, value -> value instanceof EmployeeDTO employee && empId.equals(employee.getEmpId()));
+            if (tasksDeleted) {
+                evictValues(CacheConfig.TASKS, value -> value instanceof TaskDTO task && empId.equals(task.getEmployeeId()));
+            }
+        };
+        afterCommit(eviction);
+    }
+
+    // EVICT TASKS ----------------------------------------------------------------------------------
+    // bulk writes know the IDs they touched, so these are plain key evictions
+    @Override
+    public void evictTasks(Collection<Long> taskIds, boolean tasksDeleted) {
+        List<Long> evictedIds = List.copyOf(taskIds);
+        afterCommit(() -> {
+            Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+            Cache taskEmployees = cacheManager.getCache(CacheConfig.TASK_EMPLOYEES);
+            for (Long taskId : evictedIds) {
+                if (tasks != null) {
+                    tasks.evict(taskId);
+                }
+                if (tasksDeleted && taskEmployees != null) {
+                    taskEmployees.evict(taskId);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private void evictValues(String cacheName, Predicate<Object> matches) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            Map<?, ?> entries = caffeine.asMap();
+            entries.values().removeIf(matches);
+        }
+    }
+}
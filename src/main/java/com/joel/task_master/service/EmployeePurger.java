@@ -0,0 +1,64 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Removes soft-deleted employees (taskmaster.employee.soft-delete=true) and their tasks in the background.
+ * Every batch of task deletes is its own short transaction, so neither the DELETE request nor the purge holds
+ * locks for the length of an employee's history. Until an employee's tasks are gone they still show up in
+ * the task-level listings and the PostgreSQL search; employee reads, counters and new tasks already treat the
+ * employee as deleted. Safe to run on several instances at once: overlapping batches just delete fewer rows.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmaster.employee.soft-delete", havingValue = "true")
+public class EmployeePurger {
+
+    private static final int EMPLOYEES_PER_RUN = 100;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskCountService taskCountService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${taskmaster.employee.purge.batch-size:1000}")
+    private int batchSize;
+
+    // PURGE SOFT-DELETED EMPLOYEES -----------------------------------------------------------------
+    @Scheduled(fixedDelayString = "${taskmaster.employee.purge.interval:PT10S}", initialDelayString = "${taskmaster.employee.purge.interval:PT10S}")
+    public long purgeDeletedEmployees() {
+        long purgedTasks = 0;
+        for (Long empId : employeeRepository.findSoftDeletedEmpIds(EMPLOYEES_PER_RUN)) {
+            purgedTasks += purgeEmployee(empId);
+        }
+        return purgedTasks;
+    }
+
+    private long purgeEmployee(Long empId) {
+        long purgedTasks = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> taskRepository.deleteBatchByEmployeeId(empId, batchSize));
+            purgedTasks += deleted;
+        } while (deleted == batchSize);
+
+        // a task saved or updated while the soft delete committed may have left a last task or counter row
+        purgedTasks += transactionTemplate.execute(status -> {
+            int lateTasks = taskRepository.deleteByEmployeeId(empId);
+            taskCountService.deleteTaskCounts(empId);
+            employeeRepository.purgeByEmpId(empId);
+            return lateTasks;
+        });
+        return purgedTasks;
+    }
+}
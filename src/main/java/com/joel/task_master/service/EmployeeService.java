@@ -1,5 +1,6 @@
 package com.joel.task_master.service;
 
+import com.joel.task_master.dto.CursorPageDTO;
 import com.joel.task_master.dto.EmployeeDTO;
 import com.joel.task_master.dto.TaskDTO;
 import com.joel.task_master.model.Employee;
@@ -13,7 +14,9 @@ public interface EmployeeService {
     EmployeeDTO getEmployeeByTaskId(Long taskId);
     EmployeeDTO getEmployeeById(Long empId);
     List<EmployeeDTO> getAllEmployee(Integer pageNumber, Integer pageSize);
-    EmployeeDTO updateEmployeeById(Long empId, EmployeeDTO employeeDTO);
+    CursorPageDTO<EmployeeDTO> getAllEmployeeAfter(String after, Integer pageSize);
+    EmployeeDTO updateEmployeeById(Long empId, EmployeeDTO employeeDTO, Long expectedVersion);
+    void patchEmployeeById(Long empId, EmployeeDTO employeeDTO, Long expectedVersion);
     void deleteEmployeeById(Long empId);
 
 }
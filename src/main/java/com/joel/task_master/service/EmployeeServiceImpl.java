@@ -1,23 +1,41 @@
 package com.joel.task_master.service;
 
+import com.joel.task_master.config.CacheConfig;
+import com.joel.task_master.dto.CursorPageDTO;
 import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
 import com.joel.task_master.exception.EmployeeNotFoundException;
 import com.joel.task_master.exception.EmployeeNullDetailsException;
 import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.exception.VersionMismatchException;
 import com.joel.task_master.model.Employee;
 import com.joel.task_master.model.Task;
+import com.joel.task_master.model.TaskStatus;
 import com.joel.task_master.repository.EmployeeRepository;
 import com.joel.task_master.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 
@@ -27,6 +45,17 @@ public class EmployeeServiceImpl implements EmployeeService {
     private EmployeeRepository employeeRepository;
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private CacheService cacheService;
+    @Autowired
+    private TaskSearchService taskSearchService;
+    @Autowired
+    private TaskCountService taskCountService;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${taskmaster.employee.soft-delete:false}")
+    private boolean softDelete;
 
     // SAVE EMPLOYEE WITH TASKS ---------------------------------------------------------------------
     @Override
@@ -39,7 +68,14 @@ public class EmployeeServiceImpl implements EmployeeService {
                 throw new TaskNotFoundException("Task object is Empty!!");
             } else {
                 employee.getTasks().forEach(task -> task.setEmployee(employee));
-                return employeeRepository.save(employee);
+                Employee savedEmployee = employeeRepository.save(employee);
+                Map<TaskStatus, Long> taskCounts = savedEmployee.getTasks().stream()
+                        .filter(task -> task.getTaskStatus() != null)
+                        .collect(Collectors.groupingBy(Task::getTaskStatus, Collectors.counting()));
+                taskCountService.createTaskCounts(savedEmployee.getEmpId(), taskCounts);
+                savedEmployee.getTasks().forEach(task -> taskSearchService.indexTask(new TaskDTO(task.getTaskId(), task.getTaskTitle(),
+                        task.getTaskDescription(), task.getTaskStatus(), task.getDueDate(), savedEmployee.getEmpId())));
+                return savedEmployee;
             }
         }
     }
@@ -48,13 +84,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     @Transactional
     public EmployeeDTO saveEmployee(EmployeeDTO employeeDTO) {
-        if (employeeDTO.getEmpName() == null ||
-                employeeDTO.getEmpEmail() == null ||
-                employeeDTO.getEmpDesignation() == null ||
-                employeeDTO.getEmpName().isBlank() ||
-                employeeDTO.getEmpEmail().isBlank() ||
-                employeeDTO.getEmpDesignation().isBlank()
-        ) {
+        if (hasMissingDetails(employeeDTO)) {
             throw new EmployeeNullDetailsException("Employee details can't be empty or null!");
         } else {
             Employee employee = new Employee();
@@ -62,119 +92,180 @@ public class EmployeeServiceImpl implements EmployeeService {
             employee.setEmpEmail(employeeDTO.getEmpEmail().strip());
             employee.setEmpDesignation(employeeDTO.getEmpDesignation().strip());
             employee = employeeRepository.save(employee);
+            taskCountService.createTaskCounts(employee.getEmpId(), Map.of());
 
             employeeDTO.setEmpId(employee.getEmpId());
+            employeeDTO.setVersion(employee.getVersion());
             return employeeDTO;
         }
     }
 
     // GET EMPLOYEE BY TASK ID ----------------------------------------------------------------------
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASK_EMPLOYEES, key = "#taskId")
+    // on the primary: a lagging replica row would be cached and served for the whole TTL
     @Transactional
     public EmployeeDTO getEmployeeByTaskId(Long taskId) {
-        if (taskRepository.existsById(taskId)) {
-            Task task = taskRepository.findById(taskId).orElse(null);
-            Employee employee = task.getEmployee();
-
-            EmployeeDTO employeeDTO = new EmployeeDTO();
-            employeeDTO.setEmpId(employee.getEmpId());
-            employeeDTO.setEmpName(employee.getEmpName());
-            employeeDTO.setEmpEmail(employee.getEmpEmail());
-            employeeDTO.setEmpDesignation(employee.getEmpDesignation());
-
-            return employeeDTO;
-        } else {
-            throw new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId);
-        }
+        return employeeRepository.findEmployeeDTOByTaskId(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId));
     }
 
     // GET EMPLOYEE BY ID ---------------------------------------------------------------------------
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#empId")
+    // on the primary as well, see getEmployeeByTaskId
     @Transactional
     public EmployeeDTO getEmployeeById(Long empId) {
-        if (employeeRepository.existsById(empId)) {
-            Employee employee = employeeRepository.findById(empId).orElse(null);
-
-            EmployeeDTO employeeDTO = new EmployeeDTO();
-            employeeDTO.setEmpId(employee.getEmpId());
-            employeeDTO.setEmpName(employee.getEmpName());
-            employeeDTO.setEmpEmail(employee.getEmpEmail());
-            employeeDTO.setEmpDesignation(employee.getEmpDesignation());
-            return employeeDTO;
-        }
-        throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
+        return employeeRepository.findEmployeeDTOById(empId)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId));
     }
 
     // GET ALL EMPLOYEES ----------------------------------------------------------------------------
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployee(Integer pageNumber, Integer pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("empId"));
 
-        Page<Employee> allPageEmployees = employeeRepository.findAll(pageable);
-        List<Employee> allEmployee = allPageEmployees.getContent();
-
-//        System.out.println("total pages: " + allPageEmployees.getTotalPages());
+        Slice<EmployeeDTO> allPageEmployees = employeeRepository.findAllEmployeeDTO(pageable);
+        List<EmployeeDTO> allEmployee = allPageEmployees.getContent();
 
         if (!allEmployee.isEmpty()) {
-            List<EmployeeDTO> employeeDTOList = new ArrayList<>();
-
-            allEmployee.forEach(employee -> employeeDTOList.add(
-                    new EmployeeDTO(
-                            employee.getEmpId(),
-                            employee.getEmpName(),
-                            employee.getEmpEmail(),
-                            employee.getEmpDesignation()
-                    )));
-            return employeeDTOList;
+            return allEmployee;
         } else {
             throw new EmployeeNotFoundException("There are no Employees in the database :( ");
         }
     }
 
+    // GET ALL EMPLOYEES (KEYSET) -------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> getAllEmployeeAfter(String after, Integer pageSize) {
+        PageCursor.pageSize(pageSize);
+        Long afterEmpId = PageCursor.decode(after);
+
+        // one extra row tells us whether there is a next page without a count(*)
+        List<EmployeeDTO> allEmployee = employeeRepository.findEmployeeDTOAfter(afterEmpId, Limit.of(pageSize + 1));
+
+        if (!allEmployee.isEmpty()) {
+            boolean hasNext = allEmployee.size() > pageSize;
+            List<EmployeeDTO> employeeDTOList = hasNext ? allEmployee.subList(0, pageSize) : allEmployee;
+
+            String nextCursor = hasNext ? PageCursor.encode(employeeDTOList.get(employeeDTOList.size() - 1).getEmpId()) : null;
+            return new CursorPageDTO<>(employeeDTOList, nextCursor);
+        } else {
+            throw new EmployeeNotFoundException("There are no more Employees in the database :( ");
+        }
+    }
+
     // UPDATE EMPLOYEE BY ID ------------------------------------------------------------------------
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#empId")
     @Transactional
-    public EmployeeDTO updateEmployeeById(Long empId, EmployeeDTO employeeDTO) {
-        if (employeeRepository.existsById(empId)) {
-            if (employeeDTO == null) {
-                throw new EmployeeNotFoundException("Employee Object is Empty!!");
+    public EmployeeDTO updateEmployeeById(Long empId, EmployeeDTO employeeDTO, Long expectedVersion) {
+        if (employeeDTO == null) {
+            throw new EmployeeNotFoundException("Employee Object is Empty!!");
+        } else {
+            if (hasMissingDetails(employeeDTO)) {
+                throw new EmployeeNullDetailsException("Employee details can't be empty or null!");
             } else {
-                if (employeeDTO.getEmpName() == null ||
-                        employeeDTO.getEmpEmail() == null ||
-                        employeeDTO.getEmpDesignation() == null ||
-                        employeeDTO.getEmpName().isBlank() ||
-                        employeeDTO.getEmpEmail().isBlank() ||
-                        employeeDTO.getEmpDesignation().isBlank()
-                ) {
-                    throw new EmployeeNullDetailsException("Employee details can't be empty or null!");
-                } else {
-                    Employee updatedEmployee = new Employee();
-                    updatedEmployee.setEmpId(empId);
-                    updatedEmployee.setEmpName(employeeDTO.getEmpName().strip());
-                    updatedEmployee.setEmpEmail(employeeDTO.getEmpEmail().strip());
-                    updatedEmployee.setEmpDesignation(employeeDTO.getEmpDesignation().strip());
-                    employeeRepository.save(updatedEmployee);
-
-                    employeeDTO.setEmpId(empId);
-                    return employeeDTO;
+                // loading the managed entity replaces the merge SELECT a detached save() would issue
+                Employee updatedEmployee = employeeRepository.findById(empId)
+                        .orElseThrow(() -> new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId));
+                if (expectedVersion != null && !expectedVersion.equals(updatedEmployee.getVersion())) {
+                    throw new VersionMismatchException("Employee with ID " + empId + " was modified since version " + expectedVersion + ", current version is " + updatedEmployee.getVersion());
                 }
+
+                updatedEmployee.setEmpName(employeeDTO.getEmpName().strip());
+                updatedEmployee.setEmpEmail(employeeDTO.getEmpEmail().strip());
+                updatedEmployee.setEmpDesignation(employeeDTO.getEmpDesignation().strip());
+                // versioned UPDATE runs here so the new version is known for the ETag
+                employeeRepository.flush();
+                cacheService.evictEmployee(empId, false);
+
+                employeeDTO.setEmpId(empId);
+                employeeDTO.setVersion(updatedEmployee.getVersion());
+                return employeeDTO;
             }
-        } else {
-            throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
         }
     }
 
+    // PATCH EMPLOYEE BY ID: one UPDATE of the fields that were sent, no read --------------------------
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#empId")
+    @Transactional
+    public void patchEmployeeById(Long empId, EmployeeDTO employeeDTO, Long expectedVersion) {
+        if (employeeDTO == null || hasNoPatchDetails(employeeDTO)) {
+            throw new EmployeeNullDetailsException("Send at least one of name, email and designation, and no blank ones!");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = builder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        if (employeeDTO.getEmpName() != null) {
+            update.set(employee.<String>get("empName"), employeeDTO.getEmpName().strip());
+        }
+        if (employeeDTO.getEmpEmail() != null) {
+            update.set(employee.<String>get("empEmail"), employeeDTO.getEmpEmail().strip());
+        }
+        if (employeeDTO.getEmpDesignation() != null) {
+            update.set(employee.<String>get("empDesignation"), employeeDTO.getEmpDesignation().strip());
+        }
+        // a bulk UPDATE bypasses @Version, bump it by hand so ETags and optimistic locks see the change
+        Path<Long> version = employee.get("version");
+        update.set(version, builder.sum(version, 1L));
+        Predicate byId = builder.equal(employee.get("empId"), empId);
+        update.where(expectedVersion == null ? byId : builder.and(byId, builder.equal(version, expectedVersion)));
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            if (expectedVersion != null && employeeRepository.existsById(empId)) {
+                throw new VersionMismatchException("Employee with ID " + empId + " was modified since version " + expectedVersion);
+            }
+            throw new EmployeeNotFoundException("Employee doesn't exists in the database with emp ID: " + empId);
+        }
+        cacheService.evictEmployee(empId, false);
+    }
+
     // DELETE EMPLOYEE BY ID ------------------------------------------------------------------------
     @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#empId")
     @Transactional
     public void deleteEmployeeById(Long empId) {
-        if (employeeRepository.existsById(empId)) {
-            employeeRepository.deleteById(empId);
-        } else {
+        if (softDelete) {
+            // one row UPDATE however many tasks there are, EmployeePurger deletes them in batches afterwards
+            if (employeeRepository.softDeleteByEmpId(empId, Instant.now()) == 0) {
+                throw new EmployeeNotFoundException("Employee doesn't exists in the database with emp ID: " + empId);
+            }
+            taskCountService.deleteTaskCounts(empId);
+            cacheService.evictEmployee(empId, true);
+            taskSearchService.removeEmployeeTasks(empId);
+            return;
+        }
+        // bulk deletes instead of the cascade, which would load and remove every task one by one
+        taskRepository.deleteByEmployeeId(empId);
+        taskCountService.deleteTaskCounts(empId);
+        if (employeeRepository.deleteByEmpId(empId) == 0) {
             throw new EmployeeNotFoundException("Employee doesn't exists in the database with emp ID: " + empId);
         }
+        cacheService.evictEmployee(empId, true);
+        taskSearchService.removeEmployeeTasks(empId);
     }
 
+    // VALIDATION -----------------------------------------------------------------------------------
+    static boolean hasNoPatchDetails(EmployeeDTO employeeDTO) {
+        boolean hasAny = employeeDTO.getEmpName() != null || employeeDTO.getEmpEmail() != null || employeeDTO.getEmpDesignation() != null;
+        return !hasAny ||
+                (employeeDTO.getEmpName() != null && employeeDTO.getEmpName().isBlank()) ||
+                (employeeDTO.getEmpEmail() != null && employeeDTO.getEmpEmail().isBlank()) ||
+                (employeeDTO.getEmpDesignation() != null && employeeDTO.getEmpDesignation().isBlank());
+    }
+
+    static boolean hasMissingDetails(EmployeeDTO employeeDTO) {
+        return employeeDTO.getEmpName() == null ||
+                employeeDTO.getEmpEmail() == null ||
+                employeeDTO.getEmpDesignation() == null ||
+                employeeDTO.getEmpName().isBlank() ||
+                employeeDTO.getEmpEmail().isBlank() ||
+                employeeDTO.getEmpDesignation().isBlank();
+    }
 
 }
@@ -0,0 +1,14 @@
+package com.joel.task_master.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object requestBody, Supplier<ResponseEntity<T>> request);
+
+}
@@ -0,0 +1,144 @@
+package com.joel.task_master.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joel.task_master.exception.IdempotencyKeyInFlightException;
+import com.joel.task_master.exception.IdempotencyKeyMismatchException;
+import com.joel.task_master.exception.InvalidIdempotencyKeyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Dedupe store for retried creates: Idempotency-Key -> the response of the first request, bounded in size
+ * and evicted after a TTL. The first request for a key puts an unfinished future with putIfAbsent and runs; a retry
+ * arriving meanwhile waits on that future instead of creating the rows a second time, later retries get the stored
+ * response. Failed requests are not stored, nothing was created, so the next retry runs again. Each key also keeps a
+ * fingerprint of the request (method, path and body): reusing a key for a different request is a 422, not a replay.
+ * The store is per instance: behind a load balancer, retries have to reach the same instance to be deduplicated.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmaster.idempotency.max-keys:10000}")
+    private long maxKeys;
+    @Value("${taskmaster.idempotency.ttl:PT24H}")
+    private Duration ttl;
+    @Value("${taskmaster.idempotency.wait-timeout:PT30S}")
+    private Duration waitTimeout;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Caffeine's map is a ConcurrentHashMap underneath: lookups never lock, putIfAbsent locks one bin
+    private ConcurrentMap<String, StoredRequest> responses;
+
+    @PostConstruct
+    void createStore() {
+        Cache<String, StoredRequest> cache = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+        responses = cache.asMap();
+    }
+
+    // EXECUTE ONCE PER KEY -------------------------------------------------------------------------
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object requestBody, Supplier<ResponseEntity<T>> request) {
+        if (idempotencyKey == null) {
+            return request.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters long!");
+        }
+        // taken before the request runs, the services fill in IDs on the DTOs they save
+        String fingerprint = fingerprint(scope, requestBody);
+
+        CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+        StoredRequest stored = new StoredRequest(fingerprint, result);
+        StoredRequest first = responses.putIfAbsent(idempotencyKey, stored);
+        if (first == null) {
+            meterRegistry.counter("taskmaster.idempotency", "outcome", "executed").increment();
+            try {
+                ResponseEntity<T> response = request.get();
+                result.complete(response);
+                return response;
+            } catch (Throwable e) {
+                // Errors too: a future left pending would block every retry until the wait timeout, for the whole TTL
+                responses.remove(idempotencyKey, stored);
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        if (!first.fingerprint().equals(fingerprint)) {
+            meterRegistry.counter("taskmaster.idempotency", "outcome", "mismatched").increment();
+            throw new IdempotencyKeyMismatchException("Idempotency-Key '" + idempotencyKey + "' was already used for a different request!");
+        }
+        meterRegistry.counter("taskmaster.idempotency", "outcome", first.response().isDone() ? "replayed" : "waited").increment();
+        ResponseEntity<?> response = await(first.response(), idempotencyKey);
+        return (ResponseEntity<T>) ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    // SHA-256 of the method and path, then the body as the endpoint read it: formatting and field order don't count
+    private String fingerprint(String scope, Object requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(requestBody));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Can't fingerprint the request", e);
+        }
+    }
+
+    private ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> first, String idempotencyKey) {
+        try {
+            return first.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // a concurrent retry gets the same error the first request got
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInFlightException("A request with Idempotency-Key '" + idempotencyKey + "' is still running, retry later!");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInFlightException("A request with Idempotency-Key '" + idempotencyKey + "' is still running, retry later!");
+        }
+    }
+
+    private record StoredRequest(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
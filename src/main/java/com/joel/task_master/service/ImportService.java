@@ -0,0 +1,13 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.ImportResultDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+public interface ImportService {
+
+    ImportResultDTO importEmployeesWithTasks(Path file) throws IOException, SQLException;
+
+}
@@ -0,0 +1,152 @@
+package com.joel.task_master.service;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.joel.task_master.dto.EmployeeTaskDTO;
+import com.joel.task_master.dto.ImportResultDTO;
+import com.joel.task_master.model.Employee;
+import com.joel.task_master.model.Task;
+import com.joel.task_master.model.TaskStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Loads employees with their tasks through PostgreSQL COPY instead of JPA. The input is the inputData.json
+ * shape ({"employee": {..., "tasks": [...]}}), either one object per line (NDJSON) or a JSON array.
+ * Rows are copied into temporary staging tables keyed by their position in the file, then moved into the
+ * real tables with set-based INSERT ... SELECT statements that assign IDs from the entity sequences and
+ * resolve fk_employee, all in one transaction.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    // IMPORT EMPLOYEES WITH TASKS ------------------------------------------------------------------
+    @Override
+    public ImportResultDTO importEmployeesWithTasks(Path file) throws IOException, SQLException {
+        ImportResultDTO result = copyEmployeesWithTasks(file);
+        // the rows never went through the task service, a search index outside the database has to catch up
+        taskSearchService.reindex();
+        return result;
+    }
+
+    private ImportResultDTO copyEmployeesWithTasks(Path file) throws IOException, SQLException {
+        long start = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create temp table import_employee (ext_id bigint primary key, emp_name text, " +
+                        "emp_email text, emp_designation text, emp_id bigint) on commit drop");
+                statement.execute("create temp table import_task (ext_emp_id bigint, task_title text, " +
+                        "task_description text, task_status smallint, due_date date) on commit drop");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                copy(pgConnection, file, "copy import_employee (ext_id, emp_name, emp_email, emp_designation) from stdin (format csv)",
+                        (out, extId, employee) -> writeRow(out, Long.toString(extId),
+                                csvText(employee.getEmpName()), csvText(employee.getEmpEmail()), csvText(employee.getEmpDesignation())));
+                copy(pgConnection, file, "copy import_task (ext_emp_id, task_title, task_description, task_status, due_date) from stdin (format csv)",
+                        (out, extId, employee) -> {
+                            if (employee.getTasks() != null) {
+                                for (Task task : employee.getTasks()) {
+                                    writeRow(out, Long.toString(extId),
+                                            csvText(task.getTaskTitle()), csvText(task.getTaskDescription()),
+                                            task.getTaskStatus() == null ? "" : Short.toString(task.getTaskStatus().getCode()),
+                                            task.getDueDate() == null ? "" : task.getDueDate().toString());
+                                }
+                            }
+                        });
+
+                // IDs straight from the sequences: every nextval is a block top no Hibernate node owns,
+                // so the imported rows never collide with IDs handed out by running instances
+                long employees = statement.executeUpdate("update import_employee set emp_id = nextval('joel_sequence')");
+                statement.executeUpdate("insert into employee (emp_id, emp_name, emp_email, emp_designation, version) " +
+                        "select emp_id, emp_name, emp_email, emp_designation, 0 from import_employee");
+                long tasks = statement.executeUpdate("insert into task (task_id, task_title, task_description, task_status, due_date, fk_employee, version) " +
+                        "select nextval('task_sequence'), it.task_title, it.task_description, it.task_status, it.due_date, ie.emp_id, 0 " +
+                        "from import_task it join import_employee ie on ie.ext_id = it.ext_emp_id");
+                // the imported employees are new, so their counters are plain inserts: one row per status, zero included
+                statement.executeUpdate("insert into employee_task_count (emp_id, task_status, task_count) " +
+                        "select ie.emp_id, s.code, count(it.ext_emp_id) from import_employee ie cross join (values " + statusCodes() + ") s(code) " +
+                        "left join import_task it on it.ext_emp_id = ie.ext_id and it.task_status = s.code " +
+                        "group by ie.emp_id, s.code");
+
+                connection.commit();
+                return new ImportResultDTO(employees, tasks, (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException | SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static String statusCodes() {
+        return Arrays.stream(TaskStatus.values())
+                .map(taskStatus -> "(" + taskStatus.getCode() + "::smallint)")
+                .collect(Collectors.joining(", "));
+    }
+
+    // one pass over the file per staging table, every record keeps its position as ext_id
+    private void copy(PGConnection pgConnection, Path file, String copySql, RowWriter rowWriter) throws IOException, SQLException {
+        ObjectReader reader = objectMapper.readerFor(EmployeeTaskDTO.class).with(JsonReadFeature.ALLOW_JAVA_COMMENTS);
+
+        try (InputStream in = Files.newInputStream(file);
+             MappingIterator<EmployeeTaskDTO> records = reader.readValues(in);
+             Writer out = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(pgConnection, copySql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE)) {
+            long extId = 0;
+            while (records.hasNextValue()) {
+                EmployeeTaskDTO record = records.nextValue();
+                extId++;
+                if (record != null && record.getEmployee() != null) {
+                    rowWriter.write(out, extId, record.getEmployee());
+                }
+            }
+        }
+    }
+
+    private static void writeRow(Writer out, String... fields) throws IOException {
+        out.write(String.join(",", fields));
+        out.write('\n');
+    }
+
+    // quoted so an empty string stays empty, an unquoted empty field is NULL for COPY csv
+    private static String csvText(String value) {
+        return value == null ? "" : '"' + value.strip().replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer out, long extId, Employee employee) throws IOException;
+    }
+}
@@ -0,0 +1,391 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.InvalidSearchQueryException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index for databases without full-text search (the H2 test profile). Each term maps to
+ * the tasks containing it with a title/description weighted term frequency, the same A/B weights
+ * ts_rank_cd uses by default, and the term's word positions for phrase queries. Queries use the
+ * websearch_to_tsquery syntax of the PostgreSQL engine. Only IDs are held in memory, the page of results is
+ * loaded with one query. Built from the task table on startup and kept current by the task/employee services
+ * after each commit.
+ */
+@Service
+@ConditionalOnProperty(name = "taskmaster.search.engine", havingValue = "memory")
+public class InMemoryTaskSearchServiceImpl implements TaskSearchService {
+
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for", "from",
+            "in", "is", "it", "of", "on", "or", "the", "to", "with");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // same cap as the PostgreSQL engine: more matches than this and only the most recent ones are ranked
+    @Value("${taskmaster.search.max-candidates:10000}")
+    private int maxCandidates;
+
+    // term -> task ID -> weighted frequency and positions, plus what is needed to take a task out again
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByTask = new HashMap<>();
+    private final Map<Long, Long> employeeByTask = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // SEARCH TASKS ---------------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<TaskDTO> searchTasks(String query, Integer pageNumber, Integer pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search query can't be empty!");
+        }
+        PageCursor.pageNumber(pageNumber);
+        PageCursor.pageSize(pageSize);
+        SearchPageDTO<Long> page = rankedPage(parse(query), pageNumber, pageSize);
+        List<Long> pageIds = page.getContent();
+        if (pageIds.isEmpty()) {
+            throw new TaskNotFoundException("No task matches '" + query.strip() + "'");
+        }
+
+        // one IN query for the page, then back into rank order
+        Map<Long, TaskDTO> tasks = taskRepository.findTaskDTOByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(TaskDTO::getTaskId, Function.identity()));
+        List<TaskDTO> taskList = pageIds.stream().map(tasks::get).filter(Objects::nonNull).toList();
+        if (!taskList.isEmpty()) {
+            return new SearchPageDTO<>(taskList, page.isTruncated());
+        } else {
+            throw new TaskNotFoundException("No task matches '" + query.strip() + "'");
+        }
+    }
+
+    // a task matches when it matches any 'or' branch, and scores what its best branch scores
+    private SearchPageDTO<Long> rankedPage(List<Branch> branches, int pageNumber, int pageSize) {
+        if (branches.isEmpty()) {
+            return new SearchPageDTO<>(List.of(), false);
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>();
+            for (Branch branch : branches) {
+                matches(branch).forEach((taskId, score) -> scores.merge(taskId, score, Math::max));
+            }
+
+            boolean truncated = scores.size() > maxCandidates;
+            Stream<Map.Entry<Long, Float>> ranked = scores.entrySet().stream();
+            if (truncated) {
+                ranked = ranked.sorted(Map.Entry.<Long, Float>comparingByKey().reversed()).limit(maxCandidates);
+            }
+            List<Long> pageIds = ranked
+                    .sorted(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .skip((long) pageNumber * pageSize)
+                    .limit(pageSize)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            return new SearchPageDTO<>(pageIds, truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // every term of the required phrases has to be in the task, rarest term first keeps the candidate set small.
+    // A branch with only exclusions starts from every task, like !'word' does in PostgreSQL. Callers hold the read lock
+    private Map<Long, Float> matches(Branch branch) {
+        List<Map<Long, Posting>> termPostings = new ArrayList<>();
+        for (Phrase phrase : branch.required()) {
+            for (String term : phrase.terms()) {
+                Map<Long, Posting> taskPostings = postings.get(term);
+                if (taskPostings == null) {
+                    return Map.of();
+                }
+                termPostings.add(taskPostings);
+            }
+        }
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        Collection<Long> candidates = termPostings.isEmpty() ? termsByTask.keySet() : termPostings.get(0).keySet();
+
+        Map<Long, Float> scores = new HashMap<>();
+        for (Long taskId : candidates) {
+            if (branch.required().stream().allMatch(phrase -> contains(taskId, phrase))
+                    && branch.excluded().stream().noneMatch(phrase -> contains(taskId, phrase))) {
+                float score = 0;
+                for (Map<Long, Posting> taskPostings : termPostings) {
+                    // rarer terms count for more
+                    score += taskPostings.get(taskId).weight() * (float) Math.log(1 + (double) termsByTask.size() / taskPostings.size());
+                }
+                scores.put(taskId, score);
+            }
+        }
+        return scores;
+    }
+
+    // some occurrence of the first term has every other term at its offset from it
+    private boolean contains(Long taskId, Phrase phrase) {
+        List<Posting> termPostings = new ArrayList<>();
+        for (String term : phrase.terms()) {
+            Posting posting = postings.getOrDefault(term, Map.of()).get(taskId);
+            if (posting == null) {
+                return false;
+            }
+            termPostings.add(posting);
+        }
+        for (int start : termPostings.get(0).positions()) {
+            boolean match = true;
+            for (int i = 1; i < termPostings.size() && match; i++) {
+                match = Arrays.binarySearch(termPostings.get(i).positions(), start + phrase.offsets()[i]) >= 0;
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // WRITE HOOKS: applied after commit so a rolled back write never shows up in results ---------
+    @Override
+    public void indexTask(TaskDTO taskDTO) {
+        Long taskId = taskDTO.getTaskId();
+        Long empId = taskDTO.getEmployeeId();
+        Map<String, Posting> taskPostings = postings(taskDTO.getTaskTitle(), taskDTO.getTaskDescription());
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(taskId);
+                taskPostings.forEach((term, posting) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(taskId, posting));
+                termsByTask.put(taskId, taskPostings.keySet());
+                employeeByTask.put(taskId, empId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeTask(Long taskId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(taskId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void removeEmployeeTasks(Long empId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> taskIds = employeeByTask.entrySet().stream()
+                        .filter(entry -> empId.equals(entry.getValue()))
+                        .map(Map.Entry::getKey)
+                        .toList();
+                taskIds.forEach(this::unindex);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // REINDEX: on startup and after writes that bypass the services, e.g. the COPY import ------
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindex() {
+        Map<String, Map<Long, Posting>> newPostings = new HashMap<>();
+        Map<Long, Set<String>> newTermsByTask = new HashMap<>();
+        Map<Long, Long> newEmployeeByTask = new HashMap<>();
+        try (Stream<TaskDTO> tasks = taskRepository.streamTaskDTO()) {
+            tasks.forEach(task -> {
+                Map<String, Posting> taskPostings = postings(task.getTaskTitle(), task.getTaskDescription());
+                taskPostings.forEach((term, posting) -> newPostings.computeIfAbsent(term, key -> new HashMap<>()).put(task.getTaskId(), posting));
+                newTermsByTask.put(task.getTaskId(), taskPostings.keySet());
+                newEmployeeByTask.put(task.getTaskId(), task.getEmployeeId());
+            });
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(newPostings);
+            termsByTask.clear();
+            termsByTask.putAll(newTermsByTask);
+            employeeByTask.clear();
+            employeeByTask.putAll(newEmployeeByTask);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // callers hold the write lock
+    private void unindex(Long taskId) {
+        Set<String> terms = termsByTask.remove(taskId);
+        if (terms != null) {
+            for (String term : terms) {
+                Map<Long, Posting> taskPostings = postings.get(term);
+                taskPostings.remove(taskId);
+                if (taskPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        employeeByTask.remove(taskId);
+    }
+
+    // positions run on from the title into the description and count stop words, like the concatenated tsvector
+    private static Map<String, Posting> postings(String title, String description) {
+        List<String> titleWords = words(title);
+        List<String> words = new ArrayList<>(titleWords);
+        words.addAll(words(description));
+
+        Map<String, Float> weights = new HashMap<>();
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int position = 0; position < words.size(); position++) {
+            String word = words.get(position);
+            if (!STOP_WORDS.contains(word)) {
+                weights.merge(word, position < titleWords.size() ? TITLE_WEIGHT : DESCRIPTION_WEIGHT, Float::sum);
+                positions.computeIfAbsent(word, key -> new ArrayList<>()).add(position);
+            }
+        }
+        Map<String, Posting> taskPostings = new HashMap<>();
+        weights.forEach((term, weight) -> taskPostings.put(term,
+                new Posting(weight, positions.get(term).stream().mapToInt(Integer::intValue).toArray())));
+        return taskPostings;
+    }
+
+    // websearch_to_tsquery syntax: every word has to match, "quoted words" as a phrase, 'or' matches either side
+    // and binds weaker than the implied and, a leading '-' excludes the word or phrase after it
+    private static List<Branch> parse(String query) {
+        List<Branch> branches = new ArrayList<>();
+        List<Phrase> required = new ArrayList<>();
+        List<Phrase> excluded = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            if (Character.isWhitespace(query.charAt(i))) {
+                i++;
+                continue;
+            }
+            boolean exclude = query.charAt(i) == '-';
+            if (exclude) {
+                i++;
+            }
+            String text;
+            if (i < query.length() && query.charAt(i) == '"') {
+                int close = query.indexOf('"', i + 1);
+                text = query.substring(i + 1, close < 0 ? query.length() : close);
+                i = close < 0 ? query.length() : close + 1;
+            } else {
+                int end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '"') {
+                    end++;
+                }
+                text = query.substring(i, end);
+                i = end;
+                if (!exclude && text.equalsIgnoreCase("or")) {
+                    addBranch(branches, required, excluded);
+                    continue;
+                }
+            }
+            Phrase phrase = phrase(text);
+            if (phrase != null) {
+                (exclude ? excluded : required).add(phrase);
+            }
+        }
+        addBranch(branches, required, excluded);
+        return branches;
+    }
+
+    private static void addBranch(List<Branch> branches, List<Phrase> required, List<Phrase> excluded) {
+        if (!required.isEmpty() || !excluded.isEmpty()) {
+            branches.add(new Branch(List.copyOf(required), List.copyOf(excluded)));
+            required.clear();
+            excluded.clear();
+        }
+    }
+
+    // stop words are dropped but still count for the offsets, "renew the licences" is 'renew' <2> 'licences';
+    // null when only stop words are left
+    private static Phrase phrase(String text) {
+        List<String> words = words(text);
+        List<String> terms = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int position = 0; position < words.size(); position++) {
+            if (!STOP_WORDS.contains(words.get(position))) {
+                terms.add(words.get(position));
+                positions.add(position);
+            }
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        int first = positions.get(0);
+        return new Phrase(List.copyOf(terms), positions.stream().mapToInt(position -> position - first).toArray());
+    }
+
+    // lower-cased letter/digit runs; no stemming, unlike the 'english' configuration
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // one 'or' branch of a query: every required phrase has to match and none of the excluded ones
+    private record Branch(List<Phrase> required, List<Phrase> excluded) {
+    }
+
+    // terms at fixed offsets from the first one, a single word is a phrase of one
+    private record Phrase(List<String> terms, int[] offsets) {
+    }
+
+    private record Posting(float weight, int[] positions) {
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
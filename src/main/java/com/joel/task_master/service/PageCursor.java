@@ -0,0 +1,80 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.exception.InvalidCursorException;
+import com.joel.task_master.exception.InvalidPageNumberException;
+import com.joel.task_master.exception.InvalidPageSizeException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque "after" token used by the keyset (cursor) listings. The token only wraps the last ID the client has
+ * seen, so the next page is a plain {@code id > ?} range scan on the primary key no matter how deep it is.
+ * Due date listings wrap the last (due date, ID) pair instead, the ID breaks ties between tasks due the same day.
+ */
+final class PageCursor {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private PageCursor() {
+    }
+
+    // the listings fetch pageSize + 1 rows and cut the last one off, so a page needs at least one row
+    static int pageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidPageSizeException("pageSize must be between 1 and " + MAX_PAGE_SIZE + ", got: " + pageSize);
+        }
+        return pageSize;
+    }
+
+    // offset pages (search): a negative page would make a negative OFFSET
+    static int pageNumber(Integer pageNumber) {
+        if (pageNumber == null || pageNumber < 0) {
+            throw new InvalidPageNumberException("pageNumber must be 0 or more, got: " + pageNumber);
+        }
+        return pageNumber;
+    }
+
+    static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // an empty token starts from the first row
+    static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    static String encode(LocalDate lastDueDate, Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((lastDueDate + "," + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // an empty token starts from the first row, null tells the caller to use its own lower bound
+    static DueDateKey decodeDueDate(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8).split(",", 2);
+            if (key.length != 2) {
+                throw new InvalidCursorException("Invalid page cursor: " + cursor);
+            }
+            return new DueDateKey(LocalDate.parse(key[0]), Long.valueOf(key[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    record DueDateKey(LocalDate dueDate, Long taskId) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.InvalidSearchQueryException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Full-text search on a stored, generated tsvector column (title weighted A, description B) with a GIN index.
+ * PostgreSQL recomputes the column on every INSERT and UPDATE, including the COPY import and bulk statements,
+ * so the write hooks have nothing to do here.
+ */
+@Service
+@ConditionalOnProperty(name = "taskmaster.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresTaskSearchServiceImpl implements TaskSearchService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    // schema update has to create the task table before its search column can be checked
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${taskmaster.search.max-candidates:10000}")
+    private int maxCandidates;
+
+    // matches are capped before ranking: ts_rank_cd reads every row it ranks, so a very common word would otherwise
+    // rank a large part of the table. The cap keeps the most recent matches, so the same query always ranks the same
+    // tasks, and fetches one row past it to tell the caller the results were truncated. Selective queries never reach it
+    private static final String SEARCH_SQL = "select r.task_id, r.task_title, r.task_description, r.task_status, r.due_date, r.fk_employee, r.version, r.matches " +
+            "from (select m.task_id, m.task_title, m.task_description, m.task_status, m.due_date, m.fk_employee, m.version, " +
+            "ts_rank_cd(m.search_vector, m.query) as rank, count(*) over () as matches, row_number() over (order by m.task_id desc) as n " +
+            "from (select t.task_id, t.task_title, t.task_description, t.task_status, t.due_date, t.fk_employee, t.version, t.search_vector, q.query " +
+            "from task t cross join websearch_to_tsquery('english', ?) q(query) " +
+            "where t.search_vector @@ q.query " +
+            // plain SQL skips Employee's @SQLRestriction, a soft-deleted employee's tasks are left out by hand
+            "and exists (select 1 from employee e where e.emp_id = t.fk_employee and e.deleted_at is null) " +
+            "order by t.task_id desc limit ?) m) r " +
+            "where r.n <= ? order by r.rank desc, r.task_id limit ? offset ?";
+
+    private static final RowMapper<TaskDTO> TASK_ROW_MAPPER = (rs, rowNum) -> new TaskDTO(
+            rs.getLong("task_id"),
+            rs.getString("task_title"),
+            rs.getString("task_description"),
+            rs.getObject("task_status") == null ? null : TaskStatus.fromCode(rs.getShort("task_status")),
+            rs.getObject("due_date", LocalDate.class),
+            rs.getObject("fk_employee", Long.class),
+            rs.getObject("version", Long.class));
+
+    // the column and index come from the db/migration.sql section (db/search-schema.sql on a schema ddl-auto just
+    // created), startup only checks them: adding the column rewrites the table under an exclusive lock
+    @PostConstruct
+    void checkSearchColumn() {
+        Boolean column = jdbcTemplate.queryForObject("select exists (select 1 from information_schema.columns " +
+                "where table_schema = current_schema() and table_name = 'task' and column_name = 'search_vector')", Boolean.class);
+        // a CREATE INDEX CONCURRENTLY that failed halfway leaves an invalid index behind
+        Boolean index = jdbcTemplate.queryForObject("select coalesce((select indisvalid from pg_index " +
+                "where indexrelid = to_regclass('idx_task_search')), false)", Boolean.class);
+        if (!Boolean.TRUE.equals(column) || !Boolean.TRUE.equals(index)) {
+            throw new IllegalStateException("Task search needs the search_vector column and a valid idx_task_search index, " +
+                    "run the 'Task search' section of db/migration.sql first (or set taskmaster.search.engine=memory)");
+        }
+    }
+
+    // SEARCH TASKS ---------------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public SearchPageDTO<TaskDTO> searchTasks(String query, Integer pageNumber, Integer pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("Search query can't be empty!");
+        }
+        PageCursor.pageNumber(pageNumber);
+        PageCursor.pageSize(pageSize);
+        // every row carries the number of matches fetched, at most one past the cap
+        long[] matches = {0};
+        List<TaskDTO> taskList = jdbcTemplate.query(SEARCH_SQL, (rs, rowNum) -> {
+                    matches[0] = rs.getLong("matches");
+                    return TASK_ROW_MAPPER.mapRow(rs, rowNum);
+                },
+                query.strip(), maxCandidates + 1, maxCandidates, pageSize, (long) pageNumber * pageSize);
+        if (!taskList.isEmpty()) {
+            return new SearchPageDTO<>(taskList, matches[0] > maxCandidates);
+        } else {
+            throw new TaskNotFoundException("No task matches '" + query.strip() + "'");
+        }
+    }
+
+    // WRITE HOOKS: the generated column follows every write --------------------------------------
+    @Override
+    public void indexTask(TaskDTO taskDTO) {
+    }
+
+    @Override
+    public void removeTask(Long taskId) {
+    }
+
+    @Override
+    public void removeEmployeeTasks(Long empId) {
+    }
+
+    @Override
+    public void reindex() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeTaskCountDTO;
+import com.joel.task_master.model.TaskStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TaskCountService {
+
+    void createTaskCounts(Long empId, Map<TaskStatus, Long> taskCounts);
+    void addToTaskCount(Long empId, TaskStatus taskStatus, long delta);
+    void taskDeleting(Long taskId);
+    void taskStatusChanging(Long taskId, TaskStatus taskStatus);
+    void deleteTaskCounts(Long empId);
+    List<EmployeeTaskCountDTO> getTaskCounts(List<Long> empIds);
+
+}
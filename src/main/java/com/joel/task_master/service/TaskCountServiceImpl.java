@@ -0,0 +1,126 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeTaskCountDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.model.EmployeeTaskCount;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.EmployeeTaskCountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-employee task counts by status, one row per (employee, status). The write methods join the caller's
+ * transaction, so a counter only moves together with the task rows it counts; the summary never reads the task table.
+ */
+@Service
+public class TaskCountServiceImpl implements TaskCountService {
+
+    @Autowired
+    private EmployeeTaskCountRepository employeeTaskCountRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // CREATE COUNTERS: every status gets a row up front, later writes are plain in-place UPDATEs ---------------
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createTaskCounts(Long empId, Map<TaskStatus, Long> taskCounts) {
+        for (TaskStatus taskStatus : TaskStatus.values()) {
+            entityManager.persist(new EmployeeTaskCount(empId, taskStatus.getCode(), taskCounts.getOrDefault(taskStatus, 0L)));
+        }
+    }
+
+    // ADD TO COUNTER -------------------------------------------------------------------------------
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addToTaskCount(Long empId, TaskStatus taskStatus, long delta) {
+        if (taskStatus == null || delta == 0) {
+            return;
+        }
+        // no row yet: an employee from before the counters were backfilled, or a status added since. A decrement
+        // there is for a task that was never counted, the row starts at 0 instead of going negative
+        if (employeeTaskCountRepository.addToTaskCount(empId, taskStatus.getCode(), delta) == 0
+                && employeeTaskCountRepository.insertTaskCount(empId, taskStatus.getCode(), delta) == 0) {
+            employeeTaskCountRepository.addToTaskCount(empId, taskStatus.getCode(), delta);
+        }
+    }
+
+    // TASK DELETING: has to run before the DELETE, while the task row still says whose counter it is --------
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleting(Long taskId) {
+        employeeTaskCountRepository.decrementForTask(taskId);
+    }
+
+    // TASK STATUS CHANGING: same as above, for a status UPDATE that doesn't know the old status -------------
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskStatusChanging(Long taskId, TaskStatus taskStatus) {
+        employeeTaskCountRepository.moveForTask(taskId, taskStatus.getCode());
+    }
+
+    // DELETE COUNTERS ------------------------------------------------------------------------------
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteTaskCounts(Long empId) {
+        employeeTaskCountRepository.deleteByEmpId(empId);
+    }
+
+    // GET TASK COUNTS ------------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeTaskCountDTO> getTaskCounts(List<Long> empIds) {
+        List<Long> employeeIds;
+        List<EmployeeTaskCount> taskCounts;
+        if (empIds == null || empIds.isEmpty()) {
+            employeeIds = employeeRepository.findAllEmpIds();
+            if (employeeIds.isEmpty()) {
+                throw new EmployeeNotFoundException("There are no employees in the database :( ");
+            }
+            taskCounts = employeeTaskCountRepository.findAll();
+        } else {
+            Set<Long> missingEmpIds = new HashSet<>(empIds);
+            missingEmpIds.removeAll(employeeRepository.findExistingEmpIds(empIds));
+            if (!missingEmpIds.isEmpty()) {
+                throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID(s): " + missingEmpIds);
+            }
+            employeeIds = empIds.stream().distinct().toList();
+            taskCounts = employeeTaskCountRepository.findByEmpIds(employeeIds);
+        }
+
+        Map<Long, Map<TaskStatus, Long>> countsByEmployee = new HashMap<>();
+        for (EmployeeTaskCount taskCount : taskCounts) {
+            countsByEmployee.computeIfAbsent(taskCount.getEmpId(), empId -> new EnumMap<>(TaskStatus.class))
+                    .put(TaskStatus.fromCode(taskCount.getTaskStatus()), taskCount.getTaskCount());
+        }
+
+        List<EmployeeTaskCountDTO> employeeTaskCounts = new ArrayList<>(employeeIds.size());
+        for (Long empId : employeeIds) {
+            Map<TaskStatus, Long> counts = countsByEmployee.getOrDefault(empId, Map.of());
+            Map<String, Long> byLabel = new LinkedHashMap<>();
+            long total = 0;
+            for (TaskStatus taskStatus : TaskStatus.values()) {
+                long count = counts.getOrDefault(taskStatus, 0L);
+                byLabel.put(taskStatus.getLabel(), count);
+                total += count;
+            }
+            employeeTaskCounts.add(new EmployeeTaskCountDTO(empId, byLabel, total));
+        }
+        return employeeTaskCounts;
+    }
+}
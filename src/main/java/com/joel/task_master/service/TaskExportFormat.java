@@ -0,0 +1,33 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.exception.InvalidExportFormatException;
+import org.springframework.http.MediaType;
+
+public enum TaskExportFormat {
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    TaskExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static TaskExportFormat fromParam(String format) {
+        for (TaskExportFormat exportFormat : values()) {
+            if (exportFormat.fileExtension.equalsIgnoreCase(format.strip())) {
+                return exportFormat;
+            }
+        }
+        throw new InvalidExportFormatException("Unsupported export format: " + format);
+    }
+}
@@ -0,0 +1,14 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskDTO;
+
+public interface TaskSearchService {
+
+    SearchPageDTO<TaskDTO> searchTasks(String query, Integer pageNumber, Integer pageSize);
+    void indexTask(TaskDTO taskDTO);
+    void removeTask(Long taskId);
+    void removeEmployeeTasks(Long empId);
+    void reindex();
+
+}
@@ -1,18 +1,34 @@
 package com.joel.task_master.service;
 
-import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.CursorPageDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskBulkResultDTO;
 import com.joel.task_master.dto.TaskDTO;
-import com.joel.task_master.model.Employee;
+import com.joel.task_master.model.TaskStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface TaskService {
 
     TaskDTO saveTask(TaskDTO taskDTO, Long empId);
+    List<TaskDTO> saveTasks(List<TaskDTO> taskDTOs);
     List<TaskDTO> getTaskByEmployeeId(Long empId);
     TaskDTO getTaskById(Long taskId);
     List<TaskDTO> getAllTask(Integer pageNumber, Integer pageSize);
-    TaskDTO updateTaskById(Long taskId, TaskDTO taskDTO);
+    CursorPageDTO<TaskDTO> getAllTaskAfter(String after, Integer pageSize);
+    List<TaskDTO> getTaskByStatus(TaskStatus taskStatus, Integer pageNumber, Integer pageSize);
+    List<TaskDTO> getTaskByEmployeeIdAndStatus(Long empId, TaskStatus taskStatus, Integer pageNumber, Integer pageSize);
+    CursorPageDTO<TaskDTO> getTaskDueBetween(Long empId, LocalDate from, LocalDate to, String after, Integer pageSize);
+    CursorPageDTO<TaskDTO> getTaskDueToday(Long empId, String after, Integer pageSize);
+    CursorPageDTO<TaskDTO> getOverdueTask(Long empId, String after, Integer pageSize);
+    TaskDTO updateTaskById(Long taskId, TaskDTO taskDTO, Long expectedVersion);
+    void patchTaskById(Long taskId, TaskDTO taskDTO, Long expectedVersion);
     void deleteTaskById(Long taskId);
+    TaskBulkResultDTO updateTaskStatusBulk(TaskBulkDTO taskBulkDTO);
+    TaskBulkResultDTO deleteTaskBulk(TaskBulkDTO taskBulkDTO);
+    void exportTasks(Long empId, TaskStatus taskStatus, TaskExportFormat format, OutputStream out) throws IOException;
 
 }
@@ -1,25 +1,65 @@
 package com.joel.task_master.service;
 
-import com.joel.task_master.dto.EmployeeDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joel.task_master.config.CacheConfig;
+import com.joel.task_master.dto.CursorPageDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskBulkResultDTO;
 import com.joel.task_master.dto.TaskDTO;
 import com.joel.task_master.exception.EmployeeNotFoundException;
-import com.joel.task_master.exception.EmployeeNullDetailsException;
+import com.joel.task_master.exception.InvalidBulkFilterException;
+import com.joel.task_master.exception.InvalidDueDateException;
 import com.joel.task_master.exception.TaskNotFoundException;
 import com.joel.task_master.exception.TaskNullDetailsException;
+import com.joel.task_master.exception.VersionMismatchException;
 import com.joel.task_master.model.Employee;
 import com.joel.task_master.model.Task;
+import com.joel.task_master.model.TaskStatus;
 import com.joel.task_master.repository.EmployeeRepository;
 import com.joel.task_master.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 
@@ -29,70 +69,136 @@ public class TaskServiceImpl implements TaskService {
     private EmployeeRepository employeeRepository;
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private TaskSearchService taskSearchService;
+    @Autowired
+    private TaskCountService taskCountService;
+    @Autowired
+    private CacheService cacheService;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
+    // "today" for the due today / overdue listings, due dates themselves are zone-less calendar days
+    @Value("${taskmaster.due-date.zone:UTC}")
+    private ZoneId dueDateZone;
+
+    // rows written between explicit flushes of the export stream, matches the JDBC fetch size
+    private static final int EXPORT_FLUSH_ROWS = 500;
+    // same format as the @JsonFormat on TaskDTO.dueDate
+    private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    // lower bound of the first overdue page, before any date that format can parse
+    private static final LocalDate NO_DUE_DATE_BEFORE = LocalDate.of(1, 1, 1);
+    // IDs per bulk UPDATE/DELETE statement, and tasks per request whether picked by ID or by filter:
+    // PostgreSQL takes at most 32767 bind parameters, and every target is locked and held in memory
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final int MAX_BULK_TASKS = 10_000;
 
     // SAVE TASK WITH EMP ID ------------------------------------------------------------------------
     @Override
+    @CachePut(cacheNames = CacheConfig.TASKS, key = "#result.taskId")
     @Transactional
     public TaskDTO saveTask(TaskDTO taskDTO, Long empId) {
-        if (taskDTO.getTaskTitle() == null ||
-                taskDTO.getTaskDescription() == null ||
-                taskDTO.getTaskStatus() == null ||
-                taskDTO.getDueDate() == null ||
-                taskDTO.getTaskTitle().isBlank() ||
-                taskDTO.getTaskDescription().isBlank() ||
-                taskDTO.getTaskStatus().isBlank()
-        ) {
+        if (hasMissingDetails(taskDTO)) {
             throw new TaskNullDetailsException("Task details can't be empty or null!");
         } else {
-            if (employeeRepository.existsById(empId)) {
-                Employee employee = employeeRepository.findById(empId).orElse(null);
-                Task task = new Task();
-                task.setTaskTitle(taskDTO.getTaskTitle().strip());
-                task.setTaskDescription(taskDTO.getTaskDescription().strip());
-                task.setTaskStatus(taskDTO.getTaskStatus().strip());
-                task.setDueDate(taskDTO.getDueDate());
-                task.setEmployee(employee);
+            Employee employee = employeeRepository.findById(empId)
+                    .orElseThrow(() -> new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId));
 
-                task = taskRepository.save(task);
+            Task task = new Task();
+            task.setTaskTitle(taskDTO.getTaskTitle().strip());
+            task.setTaskDescription(taskDTO.getTaskDescription().strip());
+            task.setTaskStatus(taskDTO.getTaskStatus());
+            task.setDueDate(taskDTO.getDueDate());
+            task.setEmployee(employee);
 
-                taskDTO.setTaskId(task.getTaskId());
-                taskDTO.setEmployeeId(employee.getEmpId());
+            task = taskRepository.save(task);
+            taskCountService.addToTaskCount(employee.getEmpId(), task.getTaskStatus(), 1);
 
-                return taskDTO;
+            taskDTO.setTaskId(task.getTaskId());
+            taskDTO.setEmployeeId(employee.getEmpId());
+            taskDTO.setVersion(task.getVersion());
+            taskSearchService.indexTask(taskDTO);
+
+            return taskDTO;
+        }
+
+    }
+
+    // SAVE TASKS IN BULK ---------------------------------------------------------------------------
+    @Override
+    @Transactional
+    public List<TaskDTO> saveTasks(List<TaskDTO> taskDTOs) {
+        if (taskDTOs == null || taskDTOs.isEmpty()) {
+            throw new TaskNullDetailsException("Task list can't be empty or null!");
+        }
+
+        // validate everything in one pass so the client gets every bad entry at once
+        List<Integer> invalidEntries = new ArrayList<>();
+        Set<Long> empIds = new HashSet<>();
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || hasMissingDetails(taskDTO) || taskDTO.getEmployeeId() == null) {
+                invalidEntries.add(i);
             } else {
-                throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
+                empIds.add(taskDTO.getEmployeeId());
             }
         }
+        if (!invalidEntries.isEmpty()) {
+            throw new TaskNullDetailsException("Task details and employee ID can't be empty or null! Invalid entries at index: " + invalidEntries);
+        }
+
+        Set<Long> missingEmpIds = new HashSet<>(empIds);
+        missingEmpIds.removeAll(employeeRepository.findExistingEmpIds(empIds));
+        if (!missingEmpIds.isEmpty()) {
+            throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID(s): " + missingEmpIds);
+        }
+
+        int pending = 0;
+        Map<Long, Map<TaskStatus, Long>> addedCounts = new HashMap<>();
+        for (TaskDTO taskDTO : taskDTOs) {
+            Task task = new Task();
+            task.setTaskTitle(taskDTO.getTaskTitle().strip());
+            task.setTaskDescription(taskDTO.getTaskDescription().strip());
+            task.setTaskStatus(taskDTO.getTaskStatus());
+            task.setDueDate(taskDTO.getDueDate());
+            task.setEmployee(entityManager.getReference(Employee.class, taskDTO.getEmployeeId()));
+            entityManager.persist(task);
 
+            // the sequence assigns the ID on persist, the INSERT itself waits for the batch flush
+            taskDTO.setTaskId(task.getTaskId());
+            taskDTO.setVersion(task.getVersion());
+            taskSearchService.indexTask(taskDTO);
+            addedCounts.computeIfAbsent(taskDTO.getEmployeeId(), empId -> new EnumMap<>(TaskStatus.class))
+                    .merge(taskDTO.getTaskStatus(), 1L, Long::sum);
+
+            // flush one JDBC batch at a time and keep the persistence context small
+            if (++pending == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        // one counter UPDATE per (employee, status) in the batch, not one per task
+        addedCounts.forEach((empId, counts) -> counts.forEach((taskStatus, count) ->
+                taskCountService.addToTaskCount(empId, taskStatus, count)));
+        return taskDTOs;
     }
 
     // GET TASK BY EMP-ID ---------------------------------------------------------------------------
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTaskByEmployeeId(Long empId) {
-        if (employeeRepository.existsById(empId)) {
-            Employee employee = employeeRepository.findById(empId).orElse(null);
-
-            List<Task> tasks = employee.getTasks();
-            if (!tasks.isEmpty()) {
-
-                List<TaskDTO> taskList = new ArrayList<>();
-                tasks.forEach(task ->
-                        taskList.add(
-                                new TaskDTO(
-                                        task.getTaskId(),
-                                        task.getTaskTitle(),
-                                        task.getTaskDescription(),
-                                        task.getTaskStatus(),
-                                        task.getDueDate(),
-                                        task.getEmployee().getEmpId()
-                                ))
-                );
-                return taskList;
-            } else {
-                throw new TaskNotFoundException("No task is assigned to this user!!");
-            }
+        List<TaskDTO> taskList = taskRepository.findTaskDTOByEmployeeId(empId);
+        if (!taskList.isEmpty()) {
+            return taskList;
+        } else if (employeeRepository.existsById(empId)) {
+            throw new TaskNotFoundException("No task is assigned to this user!!");
         } else {
             throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
         }
@@ -100,102 +206,449 @@ public class TaskServiceImpl implements TaskService {
 
     // GET TASK BY ID -------------------------------------------------------------------------------
     @Override
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    // not read-only, so never routed to a replica: the cached copy is served, and its ETag compared, for the whole TTL
     @Transactional
     public TaskDTO getTaskById(Long taskId) {
-        if (taskRepository.existsById(taskId)) {
-            Task task = taskRepository.findById(taskId).orElse(null);
-
-            TaskDTO taskDTO = new TaskDTO();
-            taskDTO.setTaskId(task.getTaskId());
-            taskDTO.setTaskTitle(task.getTaskTitle());
-            taskDTO.setTaskDescription(task.getTaskDescription());
-            taskDTO.setTaskStatus(task.getTaskStatus());
-            taskDTO.setDueDate(task.getDueDate());
-            taskDTO.setEmployeeId(task.getEmployee().getEmpId());
-
-            return taskDTO;
-        } else {
-            throw new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId);
-        }
+        return taskRepository.findTaskDTOById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId));
     }
 
     // GET ALL TASKS --------------------------------------------------------------------------------
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTask(Integer pageNumber, Integer pageSize) {
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("taskId"));
 
-        Page<Task> allPageTasks = taskRepository.findAll(pageable);
-        List<Task> allTask = allPageTasks.getContent();
-
-//        System.out.println("total no of elements: " + allPageTasks.getTotalElements());
+        Slice<TaskDTO> allPageTasks = taskRepository.findAllTaskDTO(pageable);
+        List<TaskDTO> allTask = allPageTasks.getContent();
 
         if (!allTask.isEmpty()) {
-            List<TaskDTO> taskDTOList = new ArrayList<>();
-
-            allTask.forEach(task ->
-                    taskDTOList.add(new TaskDTO(
-                            task.getTaskId(),
-                            task.getTaskTitle(),
-                            task.getTaskDescription(),
-                            task.getTaskStatus(),
-                            task.getDueDate(),
-                            task.getEmployee().getEmpId()
-                    )));
-            return taskDTOList;
+            return allTask;
         } else {
             throw new TaskNotFoundException("There are no tasks in the database :( ");
         }
     }
 
+    // GET ALL TASKS (KEYSET) -----------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> getAllTaskAfter(String after, Integer pageSize) {
+        PageCursor.pageSize(pageSize);
+        Long afterTaskId = PageCursor.decode(after);
+
+        // one extra row tells us whether there is a next page without a count(*)
+        List<TaskDTO> allTask = taskRepository.findTaskDTOAfter(afterTaskId, Limit.of(pageSize + 1));
+
+        if (!allTask.isEmpty()) {
+            boolean hasNext = allTask.size() > pageSize;
+            List<TaskDTO> taskDTOList = hasNext ? allTask.subList(0, pageSize) : allTask;
+
+            String nextCursor = hasNext ? PageCursor.encode(taskDTOList.get(taskDTOList.size() - 1).getTaskId()) : null;
+            return new CursorPageDTO<>(taskDTOList, nextCursor);
+        } else {
+            throw new TaskNotFoundException("There are no more tasks in the database :( ");
+        }
+    }
+
+    // GET TASKS BY STATUS --------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTaskByStatus(TaskStatus taskStatus, Integer pageNumber, Integer pageSize) {
+        // unsorted page request: the query's due date order matches the index
+        List<TaskDTO> taskList = taskRepository.findTaskDTOByStatus(taskStatus, PageRequest.of(pageNumber, pageSize)).getContent();
+        if (!taskList.isEmpty()) {
+            return taskList;
+        } else {
+            throw new TaskNotFoundException("There are no '" + taskStatus.getLabel() + "' tasks in the database :( ");
+        }
+    }
+
+    // GET TASKS BY EMP-ID AND STATUS ---------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTaskByEmployeeIdAndStatus(Long empId, TaskStatus taskStatus, Integer pageNumber, Integer pageSize) {
+        List<TaskDTO> taskList = taskRepository.findTaskDTOByEmployeeIdAndStatus(empId, taskStatus, PageRequest.of(pageNumber, pageSize)).getContent();
+        if (!taskList.isEmpty()) {
+            return taskList;
+        } else if (employeeRepository.existsById(empId)) {
+            throw new TaskNotFoundException("No '" + taskStatus.getLabel() + "' task is assigned to this user!!");
+        } else {
+            throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
+        }
+    }
+
+    // GET TASKS DUE BETWEEN (KEYSET) ---------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> getTaskDueBetween(Long empId, LocalDate from, LocalDate to, String after, Integer pageSize) {
+        if (from.isAfter(to)) {
+            throw new InvalidDueDateException("'from' (" + DUE_DATE_FORMAT.format(from) + ") is after 'to' (" + DUE_DATE_FORMAT.format(to) + ")");
+        }
+        return dueBetween(empId, from, to, after, pageSize,
+                "No task is due between " + DUE_DATE_FORMAT.format(from) + " and " + DUE_DATE_FORMAT.format(to));
+    }
+
+    // GET TASKS DUE TODAY (KEYSET) -----------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> getTaskDueToday(Long empId, String after, Integer pageSize) {
+        LocalDate today = LocalDate.now(dueDateZone);
+        return dueBetween(empId, today, today, after, pageSize, "No task is due today (" + DUE_DATE_FORMAT.format(today) + ")");
+    }
+
+    // GET OVERDUE TASKS (KEYSET) -------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> getOverdueTask(Long empId, String after, Integer pageSize) {
+        PageCursor.pageSize(pageSize);
+        LocalDate today = LocalDate.now(dueDateZone);
+        // same bounded keyset as dueBetween, the first page starts at a sentinel date instead of a null cursor
+        PageCursor.DueDateKey key = PageCursor.decodeDueDate(after);
+        LocalDate afterDueDate = key == null ? NO_DUE_DATE_BEFORE : key.dueDate();
+        Long afterTaskId = key == null ? Long.MIN_VALUE : key.taskId();
+
+        List<TaskDTO> taskList = empId == null
+                ? taskRepository.findOverdueTaskDTO(today, TaskStatus.COMPLETED, afterDueDate, afterTaskId, Limit.of(pageSize + 1))
+                : taskRepository.findOverdueTaskDTOByEmployeeId(empId, today, TaskStatus.COMPLETED, afterDueDate, afterTaskId, Limit.of(pageSize + 1));
+        return dueDatePage(taskList, empId, pageSize, "There are no overdue tasks :) ");
+    }
+
+    private CursorPageDTO<TaskDTO> dueBetween(Long empId, LocalDate from, LocalDate to, String after, Integer pageSize, String emptyMessage) {
+        PageCursor.pageSize(pageSize);
+        // resume after the cursor's (dueDate, taskId), a cursor from before the range starts over at 'from'
+        PageCursor.DueDateKey key = PageCursor.decodeDueDate(after);
+        boolean fromStart = key == null || key.dueDate().isBefore(from);
+        LocalDate afterDueDate = fromStart ? from : key.dueDate();
+        Long afterTaskId = fromStart ? Long.MIN_VALUE : key.taskId();
+
+        List<TaskDTO> taskList = empId == null
+                ? taskRepository.findTaskDTODueBetween(afterDueDate, afterTaskId, to, Limit.of(pageSize + 1))
+                : taskRepository.findTaskDTOByEmployeeIdDueBetween(empId, afterDueDate, afterTaskId, to, Limit.of(pageSize + 1));
+        return dueDatePage(taskList, empId, pageSize, emptyMessage);
+    }
+
+    // one extra row tells whether there is a next page, same as the task ID keyset
+    private CursorPageDTO<TaskDTO> dueDatePage(List<TaskDTO> taskList, Long empId, Integer pageSize, String emptyMessage) {
+        if (taskList.isEmpty()) {
+            if (empId != null && !employeeRepository.existsById(empId)) {
+                throw new EmployeeNotFoundException("Employee NOT FOUND with the given ID: " + empId);
+            }
+            throw new TaskNotFoundException(emptyMessage);
+        }
+        boolean hasNext = taskList.size() > pageSize;
+        List<TaskDTO> taskDTOList = hasNext ? taskList.subList(0, pageSize) : taskList;
+
+        TaskDTO last = taskDTOList.get(taskDTOList.size() - 1);
+        String nextCursor = hasNext ? PageCursor.encode(last.getDueDate(), last.getTaskId()) : null;
+        return new CursorPageDTO<>(taskDTOList, nextCursor);
+    }
+
     // UPDATE TASK BY ID ----------------------------------------------------------------------------
     @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
     @Transactional
-    public TaskDTO updateTaskById(Long taskId, TaskDTO taskDTO) {
-        if (taskRepository.existsById(taskId)) {
-            if (taskDTO == null) {
-                throw new TaskNotFoundException("Task Object is Empty!!");
+    public TaskDTO updateTaskById(Long taskId, TaskDTO taskDTO, Long expectedVersion) {
+        if (taskDTO == null) {
+            throw new TaskNotFoundException("Task Object is Empty!!");
+        } else {
+            if (hasMissingDetails(taskDTO)) {
+                throw new TaskNullDetailsException("Task details can't be empty or null!");
             } else {
-                if (taskDTO.getTaskTitle() == null ||
-                        taskDTO.getTaskDescription() == null ||
-                        taskDTO.getTaskStatus() == null ||
-                        taskDTO.getDueDate() == null ||
-                        taskDTO.getTaskTitle().isBlank() ||
-                        taskDTO.getTaskDescription().isBlank() ||
-                        taskDTO.getTaskStatus().isBlank()
-                ) {
-                    throw new TaskNullDetailsException("Task details can't be empty or null!");
-                } else {
-                    Task updatedTask = taskRepository.findById(taskId).orElse(null);
+                Task updatedTask = taskRepository.findLiveById(taskId)
+                        .orElseThrow(() -> new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId));
+                if (expectedVersion != null && !expectedVersion.equals(updatedTask.getVersion())) {
+                    throw new VersionMismatchException("Task with ID " + taskId + " was modified since version " + expectedVersion + ", current version is " + updatedTask.getVersion());
+                }
 
-                    updatedTask.setTaskId(taskId);
-                    updatedTask.setTaskTitle(taskDTO.getTaskTitle().strip());
-                    updatedTask.setTaskDescription(taskDTO.getTaskDescription().strip());
-                    updatedTask.setTaskStatus(taskDTO.getTaskStatus().strip());
-                    updatedTask.setDueDate(taskDTO.getDueDate());
-                    taskRepository.save(updatedTask);
+                TaskStatus previousStatus = updatedTask.getTaskStatus();
 
-                    taskDTO.setEmployeeId(updatedTask.getEmployee().getEmpId());
-                    taskDTO.setTaskId(taskId);
+                // managed entity, the UPDATE is issued by dirty checking
+                updatedTask.setTaskTitle(taskDTO.getTaskTitle().strip());
+                updatedTask.setTaskDescription(taskDTO.getTaskDescription().strip());
+                updatedTask.setTaskStatus(taskDTO.getTaskStatus());
+                updatedTask.setDueDate(taskDTO.getDueDate());
 
-                    return taskDTO;
+                // flush now so the versioned UPDATE runs here and the bumped version can go back as the new ETag;
+                // a concurrent writer that got there first makes it fail instead of being silently overwritten
+                taskRepository.flush();
+
+                if (previousStatus != updatedTask.getTaskStatus()) {
+                    Long empId = updatedTask.getEmployee().getEmpId();
+                    taskCountService.addToTaskCount(empId, previousStatus, -1);
+                    taskCountService.addToTaskCount(empId, updatedTask.getTaskStatus(), 1);
                 }
+
+                taskDTO.setEmployeeId(updatedTask.getEmployee().getEmpId());
+                taskDTO.setTaskId(taskId);
+                taskDTO.setVersion(updatedTask.getVersion());
+                taskSearchService.indexTask(taskDTO);
+
+                return taskDTO;
             }
-        } else {
-            throw new TaskNotFoundException("Task NOT FOUND with the given ID: " + taskId);
+        }
+    }
+
+    // PATCH TASK BY ID: one UPDATE of the fields that were sent, no read ------------------------------
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    @Transactional
+    public void patchTaskById(Long taskId, TaskDTO taskDTO, Long expectedVersion) {
+        if (taskDTO == null || hasNoPatchDetails(taskDTO)) {
+            throw new TaskNullDetailsException("Send at least one of title, description, status and due date, and no blank ones!");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = builder.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        if (taskDTO.getTaskTitle() != null) {
+            update.set(task.<String>get("taskTitle"), taskDTO.getTaskTitle().strip());
+        }
+        if (taskDTO.getTaskDescription() != null) {
+            update.set(task.<String>get("taskDescription"), taskDTO.getTaskDescription().strip());
+        }
+        if (taskDTO.getTaskStatus() != null) {
+            update.set(task.<TaskStatus>get("taskStatus"), taskDTO.getTaskStatus());
+            // before the UPDATE, while the row still has the old status
+            taskCountService.taskStatusChanging(taskId, taskDTO.getTaskStatus());
+        }
+        if (taskDTO.getDueDate() != null) {
+            update.set(task.<LocalDate>get("dueDate"), taskDTO.getDueDate());
+        }
+        // a bulk UPDATE bypasses @Version, bump it by hand so ETags and optimistic locks see the change
+        Path<Long> version = task.get("version");
+        update.set(version, builder.sum(version, 1L));
+        // a soft-deleted employee's task is as good as missing
+        Predicate byId = builder.and(builder.equal(task.get("taskId"), taskId), hasLiveEmployee(builder, update, task));
+        update.where(expectedVersion == null ? byId : builder.and(byId, builder.equal(version, expectedVersion)));
+
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            // only the failed path pays for telling a stale version from a missing task
+            if (expectedVersion != null && taskRepository.findTaskDTOById(taskId).isPresent()) {
+                throw new VersionMismatchException("Task with ID " + taskId + " was modified since version " + expectedVersion);
+            }
+            throw new TaskNotFoundException("Task doesn't exists in the database with task ID: " + taskId);
+        }
+
+        // the in-memory search index needs both texts, reload them only when one of them changed
+        if (taskDTO.getTaskTitle() != null || taskDTO.getTaskDescription() != null) {
+            taskRepository.findTaskDTOByIdIn(List.of(taskId)).forEach(taskSearchService::indexTask);
         }
     }
 
     // DELETE TASK BY ID ----------------------------------------------------------------------------
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId"),
+            @CacheEvict(cacheNames = CacheConfig.TASK_EMPLOYEES, key = "#taskId")
+    })
     @Transactional
     public void deleteTaskById(Long taskId) {
-        if (taskRepository.existsById(taskId)) {
-            taskRepository.deleteById(taskId);
-        } else {
+        taskCountService.taskDeleting(taskId);
+        if (taskRepository.deleteByTaskId(taskId) == 0) {
             throw new TaskNotFoundException("Task doesn't exists in the database with task ID: " + taskId);
         }
+        taskSearchService.removeTask(taskId);
+    }
+
+    // BULK STATUS CHANGE ---------------------------------------------------------------------------
+    @Override
+    @Transactional
+    public TaskBulkResultDTO updateTaskStatusBulk(TaskBulkDTO taskBulkDTO) {
+        long start = System.nanoTime();
+        if (taskBulkDTO == null || taskBulkDTO.getNewStatus() == null) {
+            throw new TaskNullDetailsException("The new status for the tasks can't be empty or null!");
+        }
+        TaskStatus newStatus = taskBulkDTO.getNewStatus();
+
+        // tasks already in the new status are left alone, so they keep their version and ETag
+        List<Object[]> targets = lockBulkTargets(taskBulkDTO, newStatus);
+        List<Long> taskIds = targets.stream().map(target -> (Long) target[0]).toList();
+        long updated = 0;
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            updated += taskRepository.updateTaskStatusByTaskIdIn(taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size())), newStatus);
+        }
+
+        // one counter UPDATE per (employee, status) touched, not per task
+        Map<Long, Map<TaskStatus, Long>> movedCounts = countBulkTargets(targets);
+        movedCounts.forEach((empId, counts) -> counts.forEach((taskStatus, count) -> {
+            taskCountService.addToTaskCount(empId, taskStatus, -count);
+            taskCountService.addToTaskCount(empId, newStatus, count);
+        }));
+        cacheService.evictTasks(taskIds, false);
+
+        return new TaskBulkResultDTO(updated, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // BULK DELETE ----------------------------------------------------------------------------------
+    @Override
+    @Transactional
+    public TaskBulkResultDTO deleteTaskBulk(TaskBulkDTO taskBulkDTO) {
+        long start = System.nanoTime();
+        if (taskBulkDTO == null) {
+            throw new InvalidBulkFilterException("Pick the tasks with at least one of taskIds, employeeId, taskStatus, dueFrom and dueTo!");
+        }
+
+        List<Object[]> targets = lockBulkTargets(taskBulkDTO, null);
+        List<Long> taskIds = targets.stream().map(target -> (Long) target[0]).toList();
+        long deleted = 0;
+        for (int from = 0; from < taskIds.size(); from += BULK_CHUNK_SIZE) {
+            deleted += taskRepository.deleteByTaskIdIn(taskIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, taskIds.size())));
+        }
+
+        countBulkTargets(targets).forEach((empId, counts) -> counts.forEach((taskStatus, count) ->
+                taskCountService.addToTaskCount(empId, taskStatus, -count)));
+        cacheService.evictTasks(taskIds, true);
+        taskIds.forEach(taskSearchService::removeTask);
+
+        return new TaskBulkResultDTO(deleted, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // [taskId, empId, taskStatus] of every task the filter matches, locked in ID order: the counters are moved by
+    // exactly these rows, and concurrent bulk writes over overlapping tasks queue up instead of deadlocking
+    private List<Object[]> lockBulkTargets(TaskBulkDTO filter, TaskStatus excludedStatus) {
+        boolean hasTaskIds = filter.getTaskIds() != null && !filter.getTaskIds().isEmpty();
+        if (!hasTaskIds && filter.getEmployeeId() == null && filter.getTaskStatus() == null
+                && filter.getDueFrom() == null && filter.getDueTo() == null) {
+            throw new InvalidBulkFilterException("Pick the tasks with at least one of taskIds, employeeId, taskStatus, dueFrom and dueTo!");
+        }
+        if (hasTaskIds && filter.getTaskIds().size() > MAX_BULK_TASKS) {
+            throw new InvalidBulkFilterException("At most " + MAX_BULK_TASKS + " taskIds per request, got " + filter.getTaskIds().size());
+        }
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new InvalidDueDateException("'dueFrom' (" + DUE_DATE_FORMAT.format(filter.getDueFrom()) + ") is after 'dueTo' (" + DUE_DATE_FORMAT.format(filter.getDueTo()) + ")");
+        }
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = builder.createQuery(Object[].class);
+        Root<Task> task = query.from(Task.class);
+        List<Predicate> predicates = new ArrayList<>();
+        // a soft-deleted employee's tasks are never targets
+        predicates.add(hasLiveEmployee(builder, query, task));
+        if (hasTaskIds) {
+            predicates.add(task.get("taskId").in(filter.getTaskIds()));
+        }
+        if (filter.getEmployeeId() != null) {
+            predicates.add(builder.equal(task.get("employee").get("empId"), filter.getEmployeeId()));
+        }
+        if (filter.getTaskStatus() != null) {
+            predicates.add(builder.equal(task.get("taskStatus"), filter.getTaskStatus()));
+        }
+        if (filter.getDueFrom() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(task.get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            predicates.add(builder.lessThanOrEqualTo(task.get("dueDate"), filter.getDueTo()));
+        }
+        if (excludedStatus != null) {
+            predicates.add(builder.notEqual(task.get("taskStatus"), excludedStatus));
+        }
+        query.multiselect(task.get("taskId"), task.get("employee").get("empId"), task.get("taskStatus"))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(task.get("taskId")));
+        // one row past the cap tells a filter that matches too much, the rollback releases the locks taken so far
+        List<Object[]> targets = entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(MAX_BULK_TASKS + 1)
+                .getResultList();
+        if (targets.size() > MAX_BULK_TASKS) {
+            throw new InvalidBulkFilterException("The filter matches more than " + MAX_BULK_TASKS + " tasks, narrow it down or split the request!");
+        }
+        return targets;
+    }
+
+    // criteria form of TaskRepository.LIVE_EMPLOYEE, the Employee subquery brings in its @SQLRestriction
+    private static Predicate hasLiveEmployee(CriteriaBuilder builder, CommonAbstractCriteria query, Root<Task> task) {
+        Subquery<Long> liveEmployee = query.subquery(Long.class);
+        Root<Employee> employee = liveEmployee.from(Employee.class);
+        liveEmployee.select(employee.get("empId")).where(builder.equal(employee.get("empId"), task.get("employee").get("empId")));
+        return builder.exists(liveEmployee);
+    }
+
+    private static Map<Long, Map<TaskStatus, Long>> countBulkTargets(List<Object[]> targets) {
+        Map<Long, Map<TaskStatus, Long>> counts = new HashMap<>();
+        for (Object[] target : targets) {
+            counts.computeIfAbsent((Long) target[1], empId -> new EnumMap<>(TaskStatus.class))
+                    .merge((TaskStatus) target[2], 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    // EXPORT TASKS ---------------------------------------------------------------------------------
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Long empId, TaskStatus taskStatus, TaskExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        if (format == TaskExportFormat.CSV) {
+            writer.write("taskId,taskTitle,taskDescription,taskStatus,dueDate,employeeId\r\n");
+        }
+
+        int rows = 0;
+        try (Stream<TaskDTO> tasks = streamTasks(empId, taskStatus)) {
+            Iterator<TaskDTO> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                TaskDTO task = iterator.next();
+                if (format == TaskExportFormat.CSV) {
+                    writer.write(task.getTaskId() + "," +
+                            csvField(task.getTaskTitle()) + "," +
+                            csvField(task.getTaskDescription()) + "," +
+                            csvField(task.getTaskStatus().getLabel()) + "," +
+                            (task.getDueDate() == null ? "" : DUE_DATE_FORMAT.format(task.getDueDate())) + "," +
+                            task.getEmployeeId() + "\r\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(task));
+                    writer.write('\n');
+                }
+
+                // first rows go out while the cursor is still open, then one flush per fetched block
+                if (++rows == 1 || rows % EXPORT_FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private Stream<TaskDTO> streamTasks(Long empId, TaskStatus taskStatus) {
+        if (empId != null && taskStatus != null) {
+            return taskRepository.streamTaskDTOByEmployeeIdAndStatus(empId, taskStatus);
+        } else if (empId != null) {
+            return taskRepository.streamTaskDTOByEmployeeId(empId);
+        } else if (taskStatus != null) {
+            return taskRepository.streamTaskDTOByStatus(taskStatus);
+        } else {
+            return taskRepository.streamTaskDTO();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // VALIDATION -----------------------------------------------------------------------------------
+    static boolean hasNoPatchDetails(TaskDTO taskDTO) {
+        boolean hasAny = taskDTO.getTaskTitle() != null || taskDTO.getTaskDescription() != null ||
+                taskDTO.getTaskStatus() != null || taskDTO.getDueDate() != null;
+        return !hasAny ||
+                (taskDTO.getTaskTitle() != null && taskDTO.getTaskTitle().isBlank()) ||
+                (taskDTO.getTaskDescription() != null && taskDTO.getTaskDescription().isBlank());
+    }
+
+    static boolean hasMissingDetails(TaskDTO taskDTO) {
+        return taskDTO.getTaskTitle() == null ||
+                taskDTO.getTaskDescription() == null ||
+                taskDTO.getTaskStatus() == null ||
+                taskDTO.getDueDate() == null ||
+                taskDTO.getTaskTitle().isBlank() ||
+                taskDTO.getTaskDescription().isBlank();
     }
 
 }
@@ -0,0 +1,86 @@
+-- TaskMaster manual schema migrations (PostgreSQL).
+-- ddl-auto=update creates new tables, columns and sequences but never changes existing ones,
+-- so run the matching section once per database before deploying the release that needs it.
+
+-- Task IDs: IDENTITY -> taskSequence (allocationSize 50) --------------------------------------------------
+-- Hibernate would create task_sequence starting at 1, which collides with the existing identity IDs.
+CREATE SEQUENCE IF NOT EXISTS task_sequence INCREMENT BY 50;
+SELECT setval('task_sequence', (SELECT COALESCE(MAX(task_id), 0) + 50 FROM task));
+-- the identity stays as a harmless default, inserts now always carry an explicit ID
+
+-- Employee IDs: joelSequence allocationSize 1 -> pooled blocks of taskmaster.id.block-size ------------------
+-- The pooled optimizer reads nextval as the top of a block, so INCREMENT BY must equal the block size.
+-- Values already handed out stay below the next block, no existing ID is reused.
+ALTER SEQUENCE joel_sequence INCREMENT BY 50;
+
+-- Changing taskmaster.id.block-size later: stop all nodes (or roll them together), then run
+--   ALTER SEQUENCE joel_sequence INCREMENT BY <new size>;
+--   ALTER SEQUENCE task_sequence INCREMENT BY <new size>;
+
+-- Row versions for optimistic locking and ETags --------------------------------------------------------------
+-- ddl-auto adds the nullable version columns, existing rows must start at 0: Hibernate cannot increment a null version.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE task SET version = 0 WHERE version IS NULL;
+UPDATE employee SET version = 0 WHERE version IS NULL;
+ALTER TABLE task ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
+ALTER TABLE employee ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
+
+-- Task status: free text -> smallint codes of TaskStatus -------------------------------------------------------
+-- Check what is stored first, anything the CASE below does not know becomes NULL and must be mapped by hand:
+--   SELECT task_status, count(*) FROM task GROUP BY task_status;
+ALTER TABLE task ALTER COLUMN task_status TYPE smallint USING
+    CASE replace(replace(lower(trim(task_status)), '_', ' '), '-', ' ')
+        WHEN 'pending' THEN 0
+        WHEN 'in progress' THEN 1
+        WHEN 'on hold' THEN 2
+        WHEN 'completed' THEN 3
+    END;
+CREATE INDEX IF NOT EXISTS idx_task_employee_status_due ON task (fk_employee, task_status, due_date, task_id);
+CREATE INDEX IF NOT EXISTS idx_task_status_due ON task (task_status, due_date, task_id);
+
+-- Due dates: timestamp -> date -------------------------------------------------------------------------------
+-- java.util.Date values were written as local timestamps in the application's JVM zone, while the dd-MM-yyyy
+-- JSON dates they came from were midnight UTC: read each value in the JVM zone, shift it back to UTC and keep the day.
+-- There is no safe default for that zone, pass it to psql; without it the ALTER fails and the column stays as is:
+--   psql -v app_zone=Asia/Kolkata -f migration.sql
+\if :{?app_zone}
+\else
+\echo 'app_zone is not set: run with psql -v app_zone=<JVM zone of the servers that wrote the due dates>'
+\endif
+ALTER TABLE task ALTER COLUMN due_date TYPE date USING ((due_date AT TIME ZONE :'app_zone') AT TIME ZONE 'UTC')::date;
+CREATE INDEX IF NOT EXISTS idx_task_employee_due ON task (fk_employee, due_date, task_id);
+CREATE INDEX IF NOT EXISTS idx_task_due ON task (due_date, task_id);
+
+-- Task search: generated tsvector column + GIN index -----------------------------------------------------------
+-- Required before deploying with taskmaster.search.engine=postgres, the application only checks that both exist.
+-- Adding a stored generated column rewrites the whole table under an exclusive lock: maintenance window on a
+-- large table. The index is built without blocking writes; CONCURRENTLY can't run inside a transaction block,
+-- so don't run this file with --single-transaction. If the build fails it leaves an invalid index that the
+-- application rejects: DROP INDEX CONCURRENTLY idx_task_search; and run the CREATE again.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(task_title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(task_description, '')), 'B')) STORED;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_search ON task USING gin (search_vector);
+
+-- Per-employee task counts by status -------------------------------------------------------------------------
+-- ddl-auto creates the table, this fills it from the existing tasks. Run it with the application stopped:
+-- tasks written between the count and the commit would be missed. Safe to re-run, it recounts every row.
+CREATE TABLE IF NOT EXISTS employee_task_count (
+    emp_id bigint NOT NULL,
+    task_status smallint NOT NULL,
+    task_count bigint,
+    PRIMARY KEY (emp_id, task_status)
+);
+INSERT INTO employee_task_count (emp_id, task_status, task_count)
+SELECT e.emp_id, s.code, count(t.task_id)
+FROM employee e
+CROSS JOIN (VALUES (0::smallint), (1::smallint), (2::smallint), (3::smallint)) s(code)
+LEFT JOIN task t ON t.fk_employee = e.emp_id AND t.task_status = s.code
+GROUP BY e.emp_id, s.code
+ON CONFLICT (emp_id, task_status) DO UPDATE SET task_count = excluded.task_count;
+
+-- Soft-deleted employees ---------------------------------------------------------------------------------------
+-- ddl-auto adds the column; the partial index only holds rows waiting for the purger, so it stays tiny.
+ALTER TABLE employee ADD COLUMN IF NOT EXISTS deleted_at timestamp(6) with time zone;
+CREATE INDEX IF NOT EXISTS idx_employee_deleted ON employee (deleted_at) WHERE deleted_at IS NOT NULL;
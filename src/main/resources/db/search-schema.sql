@@ -0,0 +1,8 @@
+-- Task search column and index for a schema ddl-auto just created (tests, benchmarks, a new database).
+-- Same definition as the 'Task search' section of migration.sql, use that one on a database with data.
+-- Runs after Hibernate with spring.sql.init.mode=always, spring.jpa.defer-datasource-initialization=true
+-- and spring.sql.init.data-locations=classpath:db/search-schema.sql
+ALTER TABLE task ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(task_title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(task_description, '')), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_task_search ON task USING gin (search_vector);
@@ -2,8 +2,10 @@ package com.joel.task_master;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class TaskMasterApplicationTests {
 
 	@Test
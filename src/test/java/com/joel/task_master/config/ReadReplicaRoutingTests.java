@@ -0,0 +1,96 @@
+package com.joel.task_master.config;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskSearchService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// two H2 databases: the primary gets the schema from Hibernate, the replica is a copy the test refreshes by hand
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:replica_primary_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"taskmaster.datasource.replica-urls=" + ReadReplicaRoutingTests.REPLICA_URL,
+		"taskmaster.datasource.health-check-interval=PT1H",
+		// H2 has no replication to measure
+		"taskmaster.datasource.replica-lag-query=select 0"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+	// the in-memory search index reads every task on startup, before the test copied the schema to the replica
+	@MockBean
+	private TaskSearchService taskSearchService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private HikariDataSource primaryDataSource;
+	@Autowired
+	private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@BeforeEach
+	void setUp() {
+		replicate();
+		replicaRoutingDataSource.checkReplicas();
+	}
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void readOnlyTransactionsReadFromTheReplica() {
+		Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+
+		// written to the primary, not on the replica yet
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getAllEmployee(0, 10));
+		replicate();
+		assertEquals("Joel", employeeService.getAllEmployee(0, 10).get(0).getEmpName());
+	}
+
+	@Test
+	void cachedReadsGoToThePrimary() {
+		Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+
+		// the replica doesn't have it yet, the cache would have kept whatever it read there
+		assertEquals("Joel", employeeService.getEmployeeById(empId).getEmpName());
+	}
+
+	@Test
+	void writesAlwaysGoToThePrimary() {
+		Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+		employeeService.patchEmployeeById(empId, new EmployeeDTO(null, null, null, "Lead"), null);
+
+		assertEquals(List.of("Lead"), new JdbcTemplate(primaryDataSource).queryForList("select emp_designation from employee", String.class));
+		assertEquals(0, replica.queryForObject("select count(*) from employee", Integer.class));
+	}
+
+	// stands in for replication: the replica becomes a copy of the primary, schema and rows
+	private void replicate() {
+		List<String> script = new JdbcTemplate(primaryDataSource).queryForList("script", String.class);
+		replica.execute("drop all objects");
+		script.forEach(replica::execute);
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.joel.task_master.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTests {
+
+	// getURL() reports the URL without its settings
+	private static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary";
+	private static final String REPLICA_URL = "jdbc:h2:mem:routing_replica";
+	private static final String MISSING_REPLICA_URL = "jdbc:h2:mem:routing_missing";
+
+	private ReplicaRoutingDataSource routingDataSource;
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		routingDataSource.close();
+	}
+
+	@Test
+	void readOnlyTransactionsSkipReplicasThatFailedTheirCheck() throws SQLException {
+		routingDataSource = routing(replica(REPLICA_URL + ";DB_CLOSE_DELAY=-1"), replica(MISSING_REPLICA_URL + ";IFEXISTS=TRUE"));
+
+		assertEquals(PRIMARY_URL, connectedTo());
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(REPLICA_URL, connectedTo());
+		}
+		assertEquals(1, routingDataSource.getHealthyReplicaCount());
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhenNoReplicaAnswers() throws SQLException {
+		HikariDataSource replica = replica(REPLICA_URL + ";DB_CLOSE_DELAY=-1");
+		routingDataSource = routing(replica);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals(REPLICA_URL, connectedTo());
+
+		// fails between two checks: this read falls back and the replica is out until a check finds it healthy
+		replica.close();
+		assertEquals(PRIMARY_URL, connectedTo());
+		assertEquals(0, routingDataSource.getHealthyReplicaCount());
+		assertEquals(PRIMARY_URL, connectedTo());
+	}
+
+	@Test
+	void replicasTooFarBehindAreSkippedUntilTheyCatchUp() throws SQLException {
+		HikariDataSource replica = replica(REPLICA_URL + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+		replicaJdbc.execute("create table replica_lag (seconds double precision)");
+		replicaJdbc.update("insert into replica_lag values (30)");
+		try {
+			routingDataSource = routing("select seconds from replica_lag", replica);
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			assertEquals(0, routingDataSource.getHealthyReplicaCount());
+			assertEquals(PRIMARY_URL, connectedTo());
+
+			replicaJdbc.update("update replica_lag set seconds = 1");
+			routingDataSource.checkReplicas();
+			assertEquals(REPLICA_URL, connectedTo());
+		} finally {
+			replicaJdbc.execute("drop table replica_lag");
+		}
+	}
+
+	private String connectedTo() throws SQLException {
+		try (Connection connection = routingDataSource.getConnection()) {
+			return connection.getMetaData().getURL();
+		}
+	}
+
+	private static ReplicaRoutingDataSource routing(HikariDataSource... replicas) {
+		return routing("select 0", replicas);
+	}
+
+	private static ReplicaRoutingDataSource routing(String lagQuery, HikariDataSource... replicas) {
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+				new DriverManagerDataSource(PRIMARY_URL + ";DB_CLOSE_DELAY=-1", "sa", ""), List.of(replicas), Duration.ofHours(1),
+				lagQuery, Duration.ofSeconds(10));
+		routingDataSource.checkReplicas();
+		return routingDataSource;
+	}
+
+	private static HikariDataSource replica(String url) {
+		HikariDataSource replica = new HikariDataSource();
+		replica.setJdbcUrl(url);
+		replica.setUsername("sa");
+		replica.setPassword("");
+		replica.setMaximumPoolSize(2);
+		replica.setConnectionTimeout(250);
+		return replica;
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.repository.EmployeeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// own database: a second context running create-drop on the shared one would wipe the tables under the others
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:admission_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"taskmaster.admission.client-rate=1",
+		"taskmaster.admission.client-burst=2",
+		"taskmaster.admission.max-concurrent-reads=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdmissionControlTests {
+
+	private static final String API = "/task-master/api";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void clientOverItsRateGetsTooManyRequests() throws Exception {
+		// admitted, there is just no such task
+		mockMvc.perform(get(API + "/task/1").with(client("10.0.0.1"))).andExpect(status().isNotFound());
+		mockMvc.perform(get(API + "/task/1").with(client("10.0.0.1"))).andExpect(status().isNotFound());
+
+		mockMvc.perform(get(API + "/task/1").with(client("10.0.0.1")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+				.andExpect(jsonPath("$.httpCode").value(429));
+		// other clients have their own bucket
+		mockMvc.perform(get(API + "/task/1").with(client("10.0.0.2"))).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void forgedForwardedForDoesNotGetANewBucket() throws Exception {
+		// forwarded headers are ignored by default, every forged value still counts against the connection's address
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(get(API + "/task/1").with(client("10.0.2.1")).header("X-Forwarded-For", "203.0.113." + i)).andExpect(status().isNotFound());
+		}
+		mockMvc.perform(get(API + "/task/1").with(client("10.0.2.1")).header("X-Forwarded-For", "203.0.113.2"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(jsonPath("$.message").value("Too many requests from 10.0.2.1, slow down!"));
+	}
+
+	@Test
+	void readsOverTheBoundAreShedWithoutBlockingWrites() throws Exception {
+		// a streaming export holds its read permit until the async dispatch completes it
+		MvcResult export = mockMvc.perform(get(API + "/task-export").with(client("10.0.1.1"))).andReturn();
+
+		mockMvc.perform(get(API + "/task-export").with(client("10.0.1.2")))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+				.andExpect(jsonPath("$.httpCode").value(503));
+		mockMvc.perform(post(API + "/employee").with(client("10.0.1.3")).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"empName\":\"Joel\",\"empEmail\":\"joel@gmail.com\",\"empDesignation\":\"Developer\"}"))
+				.andExpect(status().isCreated());
+
+		mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+		MvcResult nextExport = mockMvc.perform(get(API + "/task-export").with(client("10.0.1.2"))).andReturn();
+		mockMvc.perform(asyncDispatch(nextExport)).andExpect(status().isOk());
+	}
+
+	private static RequestPostProcessor client(String remoteAddr) {
+		return request -> {
+			request.setRemoteAddr(remoteAddr);
+			return request;
+		};
+	}
+
+}
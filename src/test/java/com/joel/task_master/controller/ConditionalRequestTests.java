@@ -0,0 +1,131 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalRequestTests {
+
+	private static final String API = "/task-master/api";
+	private static final String TASK_BODY = "{\"taskTitle\":\"Task_1\",\"taskDescription\":\"Task description #1\",\"taskStatus\":\"Completed\",\"dueDate\":\"01-01-2030\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Long empId;
+	private Long taskId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+		taskId = taskService.saveTask(new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.IN_PROGRESS, LocalDate.now(), null), empId).getTaskId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void matchingIfNoneMatchIsNotModifiedWithoutBody() throws Exception {
+		String eTag = mockMvc.perform(get(API + "/task/" + taskId))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get(API + "/task/" + taskId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void taskListETagChangesWhenATaskChanges() throws Exception {
+		String eTag = mockMvc.perform(get(API + "/task-emp-id/" + empId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get(API + "/task-emp-id/" + empId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		taskService.updateTaskById(taskId, new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.COMPLETED, LocalDate.now(), null), null);
+
+		String newETag = mockMvc.perform(get(API + "/task-emp-id/" + empId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(eTag, newETag);
+	}
+
+	@Test
+	void putWithStaleIfMatchIsPreconditionFailed() throws Exception {
+		mockMvc.perform(put(API + "/task/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+		// the second writer still holds version 0 and must not overwrite the first one
+		mockMvc.perform(put(API + "/task/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void patchWithIfMatchReturnsTheNextETag() throws Exception {
+		mockMvc.perform(patch(API + "/task/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"taskStatus\":\"Completed\"}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+		mockMvc.perform(get(API + "/task/" + taskId).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(patch(API + "/task/" + taskId).header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"taskStatus\":\"Pending\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(patch(API + "/employee/" + empId)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"empDesignation\":\"Lead\"}"))
+				.andExpect(status().isNoContent())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void putWithoutIfMatchStillUpdates() throws Exception {
+		mockMvc.perform(put(API + "/employee/" + empId)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"empName\":\"Joel M\",\"empEmail\":\"joel@gmail.com\",\"empDesignation\":\"Developer\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+	}
+}
@@ -0,0 +1,124 @@
+package com.joel.task_master.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the embedded Tomcat, MockMvc never sees the container's response compression.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ContentNegotiationTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+	private Long empId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+		List<TaskDTO> tasks = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			tasks.add(new TaskDTO(null, "Task " + i, "Prepare the quarterly report for the operations review, part " + i, TaskStatus.IN_PROGRESS, LocalDate.now(), empId));
+		}
+		taskService.saveTasks(tasks);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void defaultIsJsonAndBinaryFormatsDecodeToTheSameTasks() throws Exception {
+		HttpResponse<byte[]> json = get("*/*", null);
+		HttpResponse<byte[]> cbor = get("application/cbor", null);
+		HttpResponse<byte[]> smile = get("application/x-jackson-smile", null);
+
+		assertTrue(json.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+		assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElseThrow());
+		assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElseThrow());
+
+		TypeReference<List<Map<String, Object>>> type = new TypeReference<>() {};
+		List<Map<String, Object>> expected = new ObjectMapper().readValue(json.body(), type);
+		assertEquals(40, expected.size());
+		assertEquals(expected, new CBORMapper().readValue(cbor.body(), type));
+		assertEquals(expected, new SmileMapper().readValue(smile.body(), type));
+		assertTrue(smile.body().length < json.body().length);
+	}
+
+	@Test
+	void jsonIsGzippedWhenTheClientAcceptsIt() throws Exception {
+		HttpResponse<byte[]> plain = get("application/json", null);
+		HttpResponse<byte[]> gzipped = get("application/json", "gzip");
+
+		assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow());
+		assertTrue(gzipped.body().length < plain.body().length / 2);
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+			assertEquals(new String(plain.body()), new String(in.readAllBytes()));
+		}
+	}
+
+	@Test
+	void eachRepresentationHasItsOwnETag() throws Exception {
+		String jsonETag = get("application/json", null).headers().firstValue("ETag").orElseThrow();
+		String cborETag = get("application/cbor", null).headers().firstValue("ETag").orElseThrow();
+
+		assertNotEquals(jsonETag, cborETag);
+	}
+
+	private HttpResponse<byte[]> get(String accept, String acceptEncoding) throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/task-master/api/task-emp-id/" + empId))
+				.header("Accept", accept);
+		if (acceptEncoding != null) {
+			request.header("Accept-Encoding", acceptEncoding);
+		}
+		HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		assertEquals(200, response.statusCode());
+		return response;
+	}
+}
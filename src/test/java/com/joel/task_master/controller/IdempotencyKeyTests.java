@@ -0,0 +1,173 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyKeyTests {
+
+	private static final String API = "/task-master/api";
+	private static final String TASK_BODY = "{\"taskTitle\":\"Task_1\",\"taskDescription\":\"Task description #1\",\"taskStatus\":\"Completed\",\"dueDate\":\"01-01-2030\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private IdempotencyService idempotencyService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Long empId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer")).getEmpId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void retryWithTheSameKeyReturnsTheFirstTask() throws Exception {
+		String first = mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-1")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isCreated())
+				.andExpect(header().doesNotExist(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER))
+				.andReturn().getResponse().getContentAsString();
+
+		String retry = mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-1")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true"))
+				.andReturn().getResponse().getContentAsString();
+
+		assertEquals(first, retry);
+		assertEquals(1, taskRepository.count());
+
+		// without a key, or with another one, every request creates
+		mockMvc.perform(post(API + "/task/" + empId).contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isCreated());
+		mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-2")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isCreated());
+		assertEquals(3, taskRepository.count());
+	}
+
+	@Test
+	void failedRequestsAreNotStored() throws Exception {
+		mockMvc.perform(post(API + "/task/" + (empId + 1000)).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-3")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, " ")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isBadRequest());
+
+		AtomicInteger runs = new AtomicInteger();
+		for (int attempt = 0; attempt < 2; attempt++) {
+			assertThrows(IllegalStateException.class, () -> idempotencyService.execute("POST /test", "failing", null, () -> {
+				runs.incrementAndGet();
+				throw new IllegalStateException("rolled back");
+			}));
+		}
+		assertEquals(2, runs.get());
+
+		// an Error must not leave the key stuck in flight either
+		assertThrows(StackOverflowError.class, () -> idempotencyService.execute("POST /test", "erroring", null, () -> {
+			throw new StackOverflowError();
+		}));
+		assertEquals(HttpStatus.CREATED, idempotencyService.execute("POST /test", "erroring", null,
+				() -> new ResponseEntity<>("created", HttpStatus.CREATED)).getStatusCode());
+	}
+
+	@Test
+	void reusingAKeyForAnotherRequestIsRejected() throws Exception {
+		mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY))
+				.andExpect(status().isCreated());
+
+		// the same body formatted differently is the same request
+		mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY.replace(",", ", ")))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER, "true"));
+
+		mockMvc.perform(post(API + "/task/" + empId).header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused")
+						.contentType(MediaType.APPLICATION_JSON).content(TASK_BODY.replace("Task_1", "Task_2")))
+				.andExpect(status().isUnprocessableEntity());
+		mockMvc.perform(post(API + "/task-bulk").header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "reused")
+						.contentType(MediaType.APPLICATION_JSON).content("[" + TASK_BODY + "]"))
+				.andExpect(status().isUnprocessableEntity());
+		assertEquals(1, taskRepository.count());
+	}
+
+	@Test
+	void concurrentRetryWaitsForTheFirstResponse() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+
+		CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(() ->
+				idempotencyService.execute("POST /test", "in-flight", null, () -> {
+					runs.incrementAndGet();
+					started.countDown();
+					await(release);
+					return new ResponseEntity<>("created", HttpStatus.CREATED);
+				}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<ResponseEntity<String>> retry = CompletableFuture.supplyAsync(() ->
+				idempotencyService.execute("POST /test", "in-flight", null, () -> {
+					runs.incrementAndGet();
+					return new ResponseEntity<>("created twice", HttpStatus.CREATED);
+				}));
+
+		release.countDown();
+		assertNull(first.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		assertEquals("created", retry.get(5, TimeUnit.SECONDS).getBody());
+		assertEquals("true", retry.get().getHeaders().getFirst(IdempotencyService.IDEMPOTENT_REPLAYED_HEADER));
+		assertEquals(1, runs.get());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.joel.task_master.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusScrapeCarriesRequestExceptionHibernateAndPoolMetrics() throws Exception {
+		mockMvc.perform(get("/task-master/api/task/999999")).andExpect(status().isNotFound());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(allOf(
+						containsString("http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"CLIENT_ERROR\",status=\"404\",uri=\"/task-master/api/task/{taskId}\""),
+						containsString("taskmaster_exceptions_total{exception=\"TaskNotFoundException\",status=\"404\",} 1.0"),
+						containsString("hibernate_statements_total"),
+						containsString("hibernate_entities_loads_total"),
+						containsString("hikaricp_connections_active"),
+						containsString("hikaricp_connections_pending"),
+						containsString("hikaricp_connections_acquire_seconds_bucket")
+				)));
+	}
+}
@@ -0,0 +1,107 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskService;
+import com.joel.task_master.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every request below runs against several employees with several tasks each, so a per-row lazy load
+ * (N+1) pushes it over the configured statement budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class RequestStatementBudgetTests {
+
+	private static final String API = "/task-master/api";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@Value("${taskmaster.test.statement-budget}")
+	private long statementBudget;
+
+	private final List<Long> empIds = new ArrayList<>();
+	private final List<Long> taskIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		for (int e = 0; e < 5; e++) {
+			Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "Employee " + e, "emp" + e + "@gmail.com", "Developer")).getEmpId();
+			empIds.add(empId);
+			for (int t = 0; t < 3; t++) {
+				taskIds.add(taskService.saveTask(new TaskDTO(null, "Task " + t, "Task description " + t, TaskStatus.IN_PROGRESS, LocalDate.now(), null), empId).getTaskId());
+			}
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+		empIds.clear();
+		taskIds.clear();
+	}
+
+	@Test
+	void taskListingsStayWithinBudget() {
+		assertWithinBudget(get(API + "/task").param("pageSize", "20"));
+		assertWithinBudget(get(API + "/task").param("pageSize", "20").param("after", ""));
+		assertWithinBudget(get(API + "/task-emp-id/" + empIds.get(0)));
+		assertWithinBudget(get(API + "/task/" + taskIds.get(0)));
+	}
+
+	@Test
+	void employeeListingsStayWithinBudget() {
+		assertWithinBudget(get(API + "/employee").param("pageSize", "20"));
+		assertWithinBudget(get(API + "/employee").param("pageSize", "20").param("after", ""));
+		assertWithinBudget(get(API + "/employee/" + empIds.get(0)));
+		assertWithinBudget(get(API + "/employee-task-id/" + taskIds.get(0)));
+	}
+
+	private void assertWithinBudget(RequestBuilder request) {
+		String label = request.buildRequest(null).getRequestURI();
+		statementCounter.assertWithinBudget(label, statementBudget, () -> {
+			try {
+				mockMvc.perform(request).andExpect(status().isOk());
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.joel.task_master.controller;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskExportTests {
+
+	private static final String API = "/task-master/api";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Long empId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		Long otherEmpId = employeeService.saveEmployee(new EmployeeDTO(null, "Suyog", "chari@gmail.com", "Developer")).getEmpId();
+		taskService.saveTask(new TaskDTO(null, "Task_1", "Plain description", TaskStatus.IN_PROGRESS, LocalDate.now(), null), empId);
+		taskService.saveTask(new TaskDTO(null, "Task_2", "Needs \"quotes\", and commas", TaskStatus.COMPLETED, LocalDate.now(), null), empId);
+		taskService.saveTask(new TaskDTO(null, "Task_3", "Someone else's task", TaskStatus.IN_PROGRESS, LocalDate.now(), null), otherEmpId);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void exportsEveryTaskAsNdjson() throws Exception {
+		String body = export(API + "/task-export", "application/x-ndjson");
+
+		assertEquals(3, body.lines().count());
+		assertTrue(body.lines().allMatch(line -> line.startsWith("{\"taskId\":")));
+	}
+
+	@Test
+	void exportsFilteredTasksAsCsv() throws Exception {
+		String body = export(API + "/task-export?format=csv&empId=" + empId + "&taskStatus=Completed", "text/csv");
+
+		String[] lines = body.split("\r\n");
+		assertEquals(2, lines.length);
+		assertEquals("taskId,taskTitle,taskDescription,taskStatus,dueDate,employeeId", lines[0]);
+		assertTrue(lines[1].contains(",Task_2,\"Needs \"\"quotes\"\", and commas\",Completed,"));
+	}
+
+	@Test
+	void rejectsUnknownFormat() throws Exception {
+		mockMvc.perform(get(API + "/task-export?format=xml")).andExpect(status().isBadRequest());
+	}
+
+	private String export(String url, String contentType) throws Exception {
+		MvcResult started = mockMvc.perform(get(url)).andReturn();
+		return mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(contentType))
+				.andReturn().getResponse().getContentAsString();
+	}
+
+}
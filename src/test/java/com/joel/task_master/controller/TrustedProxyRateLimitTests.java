@@ -0,0 +1,58 @@
+package com.joel.task_master.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs against the embedded Tomcat, the RemoteIpValve that resolves the client address behind a trusted proxy never
+ * runs under MockMvc. The test client's loopback address plays the load balancer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		// own database: a second context running create-drop on the shared one would wipe the tables under the others
+		"spring.datasource.url=jdbc:h2:mem:trusted_proxy_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"taskmaster.admission.client-rate=1",
+		"taskmaster.admission.client-burst=2",
+		"server.forward-headers-strategy=native",
+		"server.tomcat.remoteip.internal-proxies=127\\.0\\.0\\.1|0:0:0:0:0:0:0:1"
+})
+@ActiveProfiles("test")
+class TrustedProxyRateLimitTests {
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	@Test
+	void forgedEntriesLeftOfTheProxyDoNotGetANewBucket() throws Exception {
+		// the proxy appends the address it saw, whatever the client sent before it is forged
+		assertEquals(404, getTask("198.51.100.1, 203.0.113.7").statusCode());
+		assertEquals(404, getTask("198.51.100.2, 203.0.113.7").statusCode());
+
+		HttpResponse<String> limited = getTask("198.51.100.3, 203.0.113.7");
+		assertEquals(429, limited.statusCode());
+		assertTrue(limited.body().contains("Too many requests from 203.0.113.7"), limited.body());
+
+		// another client behind the same proxy has its own bucket
+		assertEquals(404, getTask("203.0.113.8").statusCode());
+	}
+
+	private HttpResponse<String> getTask(String forwardedFor) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/task-master/api/task/1"))
+				.header("X-Forwarded-For", forwardedFor)
+				.GET()
+				.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+}
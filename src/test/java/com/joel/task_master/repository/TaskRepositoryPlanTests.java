@@ -0,0 +1,308 @@
+package com.joel.task_master.repository;
+
+import com.joel.task_master.config.ReplicaRoutingDataSource;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.service.EmployeeService;
+import com.joel.task_master.service.TaskCountService;
+import com.joel.task_master.service.TaskSearchService;
+import com.joel.task_master.service.TaskService;
+import com.joel.task_master.support.SearchOperatorCases;
+import com.joel.task_master.support.StatementCounter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query plans only mean something on the real planner with realistic statistics, so this runs on embedded
+ * PostgreSQL instead of H2: EXPLAIN the exact SQL Hibernate generates and check it is an ordered index range scan.
+ * Only the task table must never be scanned: the 100 seeded employees fit a few pages, so their live check may be one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class TaskRepositoryPlanTests {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskSearchService taskSearchService;
+	@Autowired
+	private TaskCountService taskCountService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long empId;
+
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+		if (postgres == null) {
+			postgres = EmbeddedPostgres.builder().start();
+		}
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+		registry.add("taskmaster.search.engine", () -> "postgres");
+		// every seeded task matches 'task', well past the cap
+		registry.add("taskmaster.search.max-candidates", () -> "1000");
+		// the search column and index are migrations, add them once Hibernate created the tables
+		registry.add("spring.sql.init.mode", () -> "always");
+		registry.add("spring.sql.init.data-locations", () -> "classpath:db/search-schema.sql");
+		registry.add("spring.jpa.defer-datasource-initialization", () -> "true");
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@BeforeAll
+	static void seed(@Autowired EmployeeService employeeService, @Autowired TaskService taskService, @Autowired JdbcTemplate jdbcTemplate) {
+		// 100 employees x 100 tasks, statuses and due dates spread out over 400 days, half of them in the past
+		LocalDate firstDueDate = LocalDate.now().minusDays(200);
+		for (int e = 0; e < 100; e++) {
+			empId = employeeService.saveEmployee(new EmployeeDTO(null, "Employee " + e, "emp" + e + "@gmail.com", "Developer")).getEmpId();
+			List<TaskDTO> tasks = new ArrayList<>();
+			for (int t = 0; t < 100; t++) {
+				tasks.add(new TaskDTO(null, "Task " + t, "Task description " + t, TaskStatus.values()[(e + t) % TaskStatus.values().length],
+						firstDueDate.plusDays((e + t * 100) / 25), empId));
+			}
+			taskService.saveTasks(tasks);
+		}
+		// the listings check the employee (deleted_at is null) as well, both tables need their statistics
+		jdbcTemplate.execute("analyze task");
+		jdbcTemplate.execute("analyze employee");
+	}
+
+	@Test
+	void statusListingIsAnOrderedRangeScan() {
+		String plan = explain(() -> taskRepository.findTaskDTOByStatus(TaskStatus.COMPLETED, PageRequest.of(2, 20)),
+				TaskStatus.COMPLETED.getCode(), 40, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_status_due"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void employeeStatusListingIsAnOrderedRangeScan() {
+		String plan = explain(() -> taskRepository.findTaskDTOByEmployeeIdAndStatus(empId, TaskStatus.IN_PROGRESS, PageRequest.of(0, 20)),
+				empId, TaskStatus.IN_PROGRESS.getCode(), 0, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_employee_status_due"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void dueBetweenListingIsAnOrderedRangeScan() {
+		LocalDate from = LocalDate.now();
+		LocalDate to = from.plusDays(30);
+		String plan = explain(() -> taskRepository.findTaskDTODueBetween(from, 0L, to, Limit.of(21)),
+				from, to, from, 0L, 0, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_due"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void employeeDueBetweenListingIsAnOrderedRangeScan() {
+		LocalDate from = LocalDate.now();
+		LocalDate to = from.plusDays(30);
+		String plan = explain(() -> taskRepository.findTaskDTOByEmployeeIdDueBetween(empId, from, 0L, to, Limit.of(21)),
+				empId, from, to, from, 0L, 0, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_employee_due"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void overdueListingIsAnOrderedRangeScan() {
+		LocalDate today = LocalDate.now();
+		// first page, from the sentinel date the service binds without a cursor
+		LocalDate firstPage = LocalDate.of(1, 1, 1);
+		String plan = explain(() -> taskRepository.findOverdueTaskDTO(today, TaskStatus.COMPLETED, firstPage, Long.MIN_VALUE, Limit.of(21)),
+				firstPage, today, TaskStatus.COMPLETED.getCode(), firstPage, Long.MIN_VALUE, 0, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_due"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+
+		// a later page starts the range scan at the cursor's due date instead of filtering every overdue row before it
+		LocalDate cursor = today.minusDays(100);
+		plan = explain(() -> taskRepository.findOverdueTaskDTO(today, TaskStatus.COMPLETED, cursor, 5_000L, Limit.of(21)),
+				cursor, today, TaskStatus.COMPLETED.getCode(), cursor, 5_000L, 0, 21);
+
+		assertTrue(plan.contains("Index Scan using idx_task_due"), plan);
+		assertTrue(plan.matches("(?s).*Index Cond: \\(\\(due_date >= .*"), plan);
+		assertFalse(plan.contains("Sort"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void filteredExportsReadThroughTheEmployeeIndexes() {
+		String plan = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<TaskDTO> tasks = taskRepository.streamTaskDTOByEmployeeIdAndStatus(empId, TaskStatus.ON_HOLD)) {
+				tasks.forEach(task -> { });
+			}
+		}), empId, TaskStatus.ON_HOLD.getCode());
+		assertTrue(plan.contains("idx_task_employee_status_due"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+
+		plan = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<TaskDTO> tasks = taskRepository.streamTaskDTOByEmployeeId(empId)) {
+				tasks.forEach(task -> { });
+			}
+		}), empId);
+		assertTrue(plan.contains("idx_task_employee"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void searchMatchesThroughTheGinIndex() {
+		// 10k rows still fit a cheap seq scan, so this only checks that the GIN index can serve the @@ match
+		String plan = jdbcTemplate.execute((Connection connection) -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("set enable_seqscan = off");
+				try (ResultSet rows = statement.executeQuery("explain select task_id from task where search_vector @@ websearch_to_tsquery('english', 'licences')")) {
+					StringBuilder lines = new StringBuilder();
+					while (rows.next()) {
+						lines.append(rows.getString(1)).append('\n');
+					}
+					return lines.toString();
+				} finally {
+					statement.execute("reset enable_seqscan");
+				}
+			}
+		});
+
+		assertTrue(plan.contains("Bitmap Index Scan on idx_task_search"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void commonWordsAreRankedWithinTheCap() {
+		SearchPageDTO<TaskDTO> page = taskSearchService.searchTasks("task", 0, 20);
+		assertTrue(page.isTruncated());
+		// only the 1000 most recent matches were ranked, and the same ones every time
+		Long oldestRanked = jdbcTemplate.queryForObject("select min(task_id) from (select task_id from task " +
+				"where search_vector @@ websearch_to_tsquery('english', 'task') order by task_id desc limit 1000) m", Long.class);
+		assertTrue(page.getContent().stream().allMatch(task -> task.getTaskId() >= oldestRanked), page.getContent()::toString);
+		assertEquals(page.getContent().stream().map(TaskDTO::getTaskId).toList(),
+				taskSearchService.searchTasks("task", 0, 20).getContent().stream().map(TaskDTO::getTaskId).toList());
+
+		// one task per employee
+		assertFalse(taskSearchService.searchTasks("\"description 42\"", 0, 20).isTruncated());
+	}
+
+	@Test
+	void searchRanksTitleMatchesFirstAndFollowsUpdates() {
+		Long descriptionMatchId = taskService.saveTask(new TaskDTO(null, "Check the budget", "Count the software licences first", TaskStatus.PENDING, LocalDate.now(), null), empId).getTaskId();
+		Long titleMatchId = taskService.saveTask(new TaskDTO(null, "Renew the licences", "Before they expire", TaskStatus.PENDING, LocalDate.now(), null), empId).getTaskId();
+		try {
+			assertEquals(List.of(titleMatchId, descriptionMatchId),
+					taskSearchService.searchTasks("licence", 0, 5).getContent().stream().map(TaskDTO::getTaskId).toList());
+
+			// the generated column is recomputed by the UPDATE itself
+			taskService.updateTaskById(titleMatchId, new TaskDTO(null, "Renew the subscriptions", "Before they expire", TaskStatus.PENDING, LocalDate.now(), null), null);
+			assertEquals(List.of(descriptionMatchId),
+					taskSearchService.searchTasks("licences", 0, 5).getContent().stream().map(TaskDTO::getTaskId).toList());
+			assertEquals(titleMatchId, taskSearchService.searchTasks("subscription", 0, 5).getContent().get(0).getTaskId());
+		} finally {
+			taskService.deleteTaskById(descriptionMatchId);
+			taskService.deleteTaskById(titleMatchId);
+		}
+	}
+
+	@Test
+	void searchOperatorsMatchLikeTheInMemoryEngine() {
+		SearchOperatorCases.assertOperators(taskSearchService, taskService, empId);
+	}
+
+	@Test
+	void bulkTargetsAreLockedThroughTheEmployeeStatusIndex() {
+		// new status = filtered status matches nothing, so only the locking SELECT runs, capped one past 10k targets
+		TaskBulkDTO filter = new TaskBulkDTO(null, empId, TaskStatus.PENDING, null, null, TaskStatus.PENDING);
+		String plan = explain(() -> taskService.updateTaskStatusBulk(filter), empId, TaskStatus.PENDING.getCode(), TaskStatus.PENDING.getCode(), 10_001);
+
+		assertTrue(plan.contains("idx_task_employee_status_due"), plan);
+		assertFalse(plan.contains("Seq Scan on task"), plan);
+	}
+
+	@Test
+	void countersFollowPatchesBulkWritesAndDeletes() {
+		Long countedEmpId = employeeService.saveEmployee(new EmployeeDTO(null, "Counted", "counted@gmail.com", "Developer")).getEmpId();
+		List<Long> taskIds = taskService.saveTasks(new ArrayList<>(List.of(
+				new TaskDTO(null, "A", "A", TaskStatus.PENDING, LocalDate.now(), countedEmpId),
+				new TaskDTO(null, "B", "B", TaskStatus.PENDING, LocalDate.now(), countedEmpId),
+				new TaskDTO(null, "C", "C", TaskStatus.ON_HOLD, LocalDate.now(), countedEmpId))))
+				.stream().map(TaskDTO::getTaskId).toList();
+		try {
+			TaskDTO patch = new TaskDTO();
+			patch.setTaskStatus(TaskStatus.IN_PROGRESS);
+			taskService.patchTaskById(taskIds.get(0), patch, null);
+			taskService.updateTaskStatusBulk(new TaskBulkDTO(null, countedEmpId, TaskStatus.PENDING, null, null, TaskStatus.COMPLETED));
+			taskService.deleteTaskById(taskIds.get(2));
+
+			assertEquals(Map.of("Pending", 0L, "In progress", 1L, "On hold", 0L, "Completed", 1L),
+					taskCountService.getTaskCounts(List.of(countedEmpId)).get(0).getTaskCounts());
+		} finally {
+			employeeService.deleteEmployeeById(countedEmpId);
+		}
+	}
+
+	@Test
+	void replicaLagQueryRunsOnPostgres() {
+		// not a standby, so no lag to report
+		assertNull(jdbcTemplate.queryForObject(ReplicaRoutingDataSource.POSTGRES_LAG_QUERY, Double.class));
+	}
+
+	// runs the repository call once to capture its SQL, then EXPLAINs that SQL with the given bind values
+	private String explain(Runnable query, Object... parameters) {
+		List<String> statements = statementCounter.statements(query);
+		assertEquals(1, statements.size(), statements::toString);
+		return String.join("\n", jdbcTemplate.queryForList("explain " + statements.get(0), String.class, parameters));
+	}
+}
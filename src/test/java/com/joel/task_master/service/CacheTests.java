@@ -0,0 +1,123 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.CacheStatsDTO;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class CacheTests {
+
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private CacheService cacheService;
+	@Autowired
+	private CacheManager cacheManager;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private StatementCounter statementCounter;
+
+	private Long empId;
+	private Long taskId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		taskId = taskService.saveTask(newTask(TaskStatus.IN_PROGRESS), empId).getTaskId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+	@Test
+	void repeatedLookupsAreServedFromTheCache() {
+		employeeService.getEmployeeById(empId);
+		employeeService.getEmployeeByTaskId(taskId);
+
+		assertEquals(0, statementCounter.count(() -> {
+			taskService.getTaskById(taskId);
+			employeeService.getEmployeeById(empId);
+			employeeService.getEmployeeByTaskId(taskId);
+		}));
+		assertTrue(cacheService.getCacheStats().stream().mapToLong(CacheStatsDTO::getHitCount).sum() >= 3);
+	}
+
+	@Test
+	void updateTaskEvictsOnlyThatTask() {
+		Long otherTaskId = taskService.saveTask(newTask(TaskStatus.IN_PROGRESS), empId).getTaskId();
+
+		taskService.updateTaskById(taskId, newTask(TaskStatus.COMPLETED), null);
+
+		assertEquals(0, statementCounter.count(() -> taskService.getTaskById(otherTaskId)));
+		assertEquals(1, statementCounter.count(() -> assertEquals(TaskStatus.COMPLETED, taskService.getTaskById(taskId).getTaskStatus())));
+	}
+
+	@Test
+	void deleteTaskEvictsTaskAndItsEmployeeLookup() {
+		employeeService.getEmployeeByTaskId(taskId);
+
+		taskService.deleteTaskById(taskId);
+
+		assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskId));
+		assertThrows(TaskNotFoundException.class, () -> employeeService.getEmployeeByTaskId(taskId));
+	}
+
+	@Test
+	void updateEmployeeEvictsEmployeeAndTaskLookups() {
+		employeeService.getEmployeeById(empId);
+		employeeService.getEmployeeByTaskId(taskId);
+
+		employeeService.updateEmployeeById(empId, new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer"), null);
+
+		assertEquals("Developer", employeeService.getEmployeeById(empId).getEmpDesignation());
+		assertEquals("Developer", employeeService.getEmployeeByTaskId(taskId).getEmpDesignation());
+	}
+
+	@Test
+	void deleteEmployeeEvictsEverythingOfThatEmployee() {
+		employeeService.getEmployeeById(empId);
+		employeeService.getEmployeeByTaskId(taskId);
+
+		employeeService.deleteEmployeeById(empId);
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(empId));
+		assertThrows(TaskNotFoundException.class, () -> employeeService.getEmployeeByTaskId(taskId));
+		assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskId));
+	}
+
+	private TaskDTO newTask(TaskStatus taskStatus) {
+		return new TaskDTO(null, "Task_1", "Task description #1", taskStatus, LocalDate.now(), null);
+	}
+
+}
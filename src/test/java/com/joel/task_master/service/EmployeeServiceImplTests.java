@@ -0,0 +1,99 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class EmployeeServiceImplTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private StatementCounter statementCounter;
+
+	private Long empId;
+	private Long taskId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(newEmployee()).getEmpId();
+		taskId = taskService.saveTask(new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.IN_PROGRESS, LocalDate.now(), null), empId).getTaskId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void saveEmployeeReusesTheReservedIdBlock() {
+		// setUp already reserved a block, so no nextval round trip is needed; the INSERT plus one batch of zeroed counters
+		assertEquals(2, statementCounter.count(() -> employeeService.saveEmployee(newEmployee())));
+	}
+
+	@Test
+	void getEmployeeByIdIsOneSelect() {
+		assertEquals(1, statementCounter.count(() -> employeeService.getEmployeeById(empId)));
+	}
+
+	@Test
+	void getEmployeeByTaskIdIsOneSelect() {
+		assertEquals(1, statementCounter.count(() -> employeeService.getEmployeeByTaskId(taskId)));
+	}
+
+	@Test
+	void updateEmployeeByIdIsSelectAndUpdate() {
+		assertEquals(2, statementCounter.count(() -> employeeService.updateEmployeeById(empId, new EmployeeDTO(null, "Joel", "joel@gmail.com", "Developer"), null)));
+	}
+
+	@Test
+	void patchEmployeeByIdIsOneUpdate() {
+		assertEquals(1, statementCounter.count(() -> employeeService.patchEmployeeById(empId, new EmployeeDTO(null, null, null, "Developer"), null)));
+		EmployeeDTO patched = employeeService.getEmployeeById(empId);
+		assertEquals("Developer", patched.getEmpDesignation());
+		assertEquals("Joel", patched.getEmpName());
+		assertEquals(1L, patched.getVersion());
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployeeById(-1L, new EmployeeDTO(null, "Joel", null, null), null));
+	}
+
+	@Test
+	void deleteEmployeeByIdIsThreeDeletes() {
+		// tasks, counters, employee
+		assertEquals(3, statementCounter.count(() -> employeeService.deleteEmployeeById(empId)));
+		assertFalse(taskRepository.existsById(taskId));
+		assertEquals(3, statementCounter.count(() ->
+				assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployeeById(empId))));
+	}
+
+	private EmployeeDTO newEmployee() {
+		return new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern");
+	}
+
+}
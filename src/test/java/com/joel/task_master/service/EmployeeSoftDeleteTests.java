@@ -0,0 +1,130 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// own database: a second context running create-drop on the shared one would wipe the tables under the others
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:soft_delete_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		"taskmaster.employee.soft-delete=true",
+		"taskmaster.employee.purge.interval=PT1H",
+		"taskmaster.employee.purge.batch-size=2"
+})
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class EmployeeSoftDeleteTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private TaskCountService taskCountService;
+	@Autowired
+	private EmployeePurger employeePurger;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private StatementCounter statementCounter;
+
+	private Long empId;
+	private List<Long> taskIds;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		List<TaskDTO> tasks = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			tasks.add(new TaskDTO(null, "Task_" + i, "Task description #" + i, TaskStatus.PENDING, LocalDate.now(), empId));
+		}
+		taskIds = taskService.saveTasks(tasks).stream().map(TaskDTO::getTaskId).toList();
+	}
+
+	@AfterEach
+	void tearDown() {
+		employeePurger.purgeDeletedEmployees();
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void softDeleteIsOneUpdateAndHidesTheEmployee() {
+		// employee UPDATE + counter DELETE, however many tasks there are
+		assertEquals(2, statementCounter.count(() -> employeeService.deleteEmployeeById(empId)));
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeById(empId));
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployeeById(empId));
+		assertThrows(EmployeeNotFoundException.class, () -> taskService.saveTask(
+				new TaskDTO(null, "Task_6", "Task description #6", TaskStatus.PENDING, LocalDate.now(), null), empId));
+		assertThrows(EmployeeNotFoundException.class, () -> taskCountService.getTaskCounts(List.of(empId)));
+		assertEquals(5, taskRepository.count());
+	}
+
+	@Test
+	void tasksOfASoftDeletedEmployeeCanNoLongerBeReadOrWritten() throws Exception {
+		employeeService.deleteEmployeeById(empId);
+		Long taskId = taskIds.get(0);
+
+		assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskId));
+		assertThrows(TaskNotFoundException.class, () -> employeeService.getEmployeeByTaskId(taskId));
+		assertThrows(EmployeeNotFoundException.class, () -> taskService.getTaskByEmployeeId(empId));
+		assertThrows(TaskNotFoundException.class, () -> taskService.getAllTaskAfter(null, 10));
+		ByteArrayOutputStream export = new ByteArrayOutputStream();
+		taskService.exportTasks(empId, null, TaskExportFormat.NDJSON, export);
+		assertEquals(0, export.size());
+
+		TaskDTO completed = new TaskDTO(null, null, null, TaskStatus.COMPLETED, null, null);
+		assertThrows(TaskNotFoundException.class, () -> taskService.patchTaskById(taskId, completed, null));
+		assertThrows(TaskNotFoundException.class, () -> taskService.patchTaskById(taskId, completed, 0L));
+		assertThrows(TaskNotFoundException.class, () -> taskService.updateTaskById(taskId,
+				new TaskDTO(null, "Task_0", "Task description #0", TaskStatus.COMPLETED, LocalDate.now(), null), null));
+		assertEquals(0, taskService.updateTaskStatusBulk(new TaskBulkDTO(null, empId, null, null, null, TaskStatus.COMPLETED)).getTasks());
+		assertEquals(0, taskService.updateTaskStatusBulk(new TaskBulkDTO(taskIds, null, null, null, null, TaskStatus.COMPLETED)).getTasks());
+		assertEquals(0, taskService.deleteTaskBulk(new TaskBulkDTO(null, empId, null, null, null, null)).getTasks());
+		assertThrows(TaskNotFoundException.class, () -> taskService.deleteTaskById(taskId));
+
+		// untouched for the purger, and no counter rows came back
+		assertEquals(5, jdbcTemplate.queryForObject("select count(*) from task where task_status = ?", Integer.class, TaskStatus.PENDING.getCode()));
+		assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employee_task_count where emp_id = ?", Integer.class, empId));
+	}
+
+	@Test
+	void purgerRemovesTasksInBoundedBatches() {
+		employeeService.deleteEmployeeById(empId);
+
+		List<String> statements = statementCounter.statements(() -> assertEquals(5, employeePurger.purgeDeletedEmployees()));
+		// 2 + 2 + 1 tasks, then the employee
+		assertEquals(3, statements.stream().filter(sql -> sql.contains("limit")).filter(sql -> sql.startsWith("delete")).count(), statements::toString);
+		assertEquals(0, taskRepository.count());
+		assertEquals(0, jdbcTemplate.queryForObject("select count(*) from employee", Integer.class));
+		assertEquals(0, employeePurger.purgeDeletedEmployees());
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.ImportResultDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.model.TaskStatus;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * COPY is PostgreSQL only, so the import runs on embedded PostgreSQL like the plan tests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportServiceTests {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private ImportService importService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@TempDir
+	private Path dir;
+
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+		if (postgres == null) {
+			postgres = EmbeddedPostgres.builder().start();
+		}
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void importCopiesEmployeesWithTasks() throws Exception {
+		// a Hibernate node already holds an ID block when the import runs
+		Long existingEmpId = employeeService.saveEmployee(new EmployeeDTO(null, "Existing", "existing@gmail.com", "Intern")).getEmpId();
+		taskService.saveTask(new TaskDTO(null, "Existing task", "Existing description", TaskStatus.PENDING, LocalDate.now(), null), existingEmpId);
+
+		Path file = write("""
+				{"employee": {"empName": "Smith, \\"The Hammer\\"", "empEmail": "", "empDesignation": null, "tasks": [
+				  {"taskTitle": "Say \\"hi\\", twice", "taskDescription": "", "taskStatus": "In progress", "dueDate": "01-05-2024"},
+				  {"taskTitle": "No description", "taskDescription": null, "taskStatus": "Completed", "dueDate": "15-05-2024"}]}}
+				{"employee": {"empName": "No tasks", "empEmail": "none@gmail.com", "empDesignation": "Intern"}}
+				""");
+		ImportResultDTO result = importService.importEmployeesWithTasks(file);
+		assertEquals(2, result.getEmployees());
+		assertEquals(2, result.getTasks());
+
+		Map<String, Object> smith = jdbcTemplate.queryForMap("select emp_id, emp_email, emp_designation from employee where emp_name = ?", "Smith, \"The Hammer\"");
+		Long smithId = ((Number) smith.get("emp_id")).longValue();
+		// a quoted empty field stays an empty string, a missing one is NULL
+		assertEquals("", smith.get("emp_email"));
+		assertNull(smith.get("emp_designation"));
+		Long noTasksId = jdbcTemplate.queryForObject("select emp_id from employee where emp_name = 'No tasks'", Long.class);
+
+		List<Map<String, Object>> tasks = jdbcTemplate.queryForList("select task_title, task_description, task_status from task where fk_employee = ? order by task_title", smithId);
+		assertEquals(2, tasks.size());
+		assertEquals("No description", tasks.get(0).get("task_title"));
+		assertNull(tasks.get(0).get("task_description"));
+		assertEquals("Say \"hi\", twice", tasks.get(1).get("task_title"));
+		assertEquals("", tasks.get(1).get("task_description"));
+		assertEquals(TaskStatus.IN_PROGRESS.getCode(), ((Number) tasks.get(1).get("task_status")).shortValue());
+
+		// one counter row per status, zeros included
+		assertEquals(TaskStatus.values().length, taskCounts(smithId).size());
+		assertEquals(1L, taskCounts(smithId).get(TaskStatus.IN_PROGRESS.getCode()));
+		assertEquals(1L, taskCounts(smithId).get(TaskStatus.COMPLETED.getCode()));
+		assertEquals(0L, taskCounts(smithId).get(TaskStatus.PENDING.getCode()));
+		assertEquals(Collections.nCopies(TaskStatus.values().length, 0L), List.copyOf(taskCounts(noTasksId).values()));
+
+		// the running node keeps saving past its block without hitting an imported ID
+		List<Long> importedTaskIds = jdbcTemplate.queryForList("select task_id from task where fk_employee = ?", Long.class, smithId);
+		List<TaskDTO> newTasks = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			newTasks.add(new TaskDTO(null, "New task " + i, "New description " + i, TaskStatus.PENDING, LocalDate.now(), existingEmpId));
+		}
+		for (TaskDTO task : taskService.saveTasks(newTasks)) {
+			assertFalse(importedTaskIds.contains(task.getTaskId()), task.getTaskId()::toString);
+		}
+		for (int i = 0; i < 3; i++) {
+			Long empId = employeeService.saveEmployee(new EmployeeDTO(null, "New " + i, "new" + i + "@gmail.com", "Intern")).getEmpId();
+			assertFalse(empId.equals(smithId) || empId.equals(noTasksId), empId::toString);
+		}
+	}
+
+	@Test
+	void malformedRecordRollsBackTheWholeImport() throws Exception {
+		long employees = count("employee");
+		long tasks = count("task");
+		long taskCounts = count("employee_task_count");
+
+		// broken JSON after a good record fails while staging
+		Path brokenJson = write("""
+				{"employee": {"empName": "Before the break", "empEmail": "before@gmail.com", "empDesignation": "Intern", "tasks": [
+				  {"taskTitle": "Fine", "taskDescription": "Fine", "taskStatus": "Pending", "dueDate": "01-05-2024"}]}}
+				{"employee": {"empName": "Broken", "tasks": [
+				""");
+		assertThrows(IOException.class, () -> importService.importEmployeesWithTasks(brokenJson));
+
+		// a title over the column length only fails once the employees are already inserted
+		Path tooLong = write("""
+				{"employee": {"empName": "Too long", "empEmail": "long@gmail.com", "empDesignation": "Intern", "tasks": [
+				  {"taskTitle": "%s", "taskDescription": "Fine", "taskStatus": "Pending", "dueDate": "01-05-2024"}]}}
+				""".formatted("x".repeat(300)));
+		assertThrows(SQLException.class, () -> importService.importEmployeesWithTasks(tooLong));
+
+		assertEquals(employees, count("employee"));
+		assertEquals(tasks, count("task"));
+		assertEquals(taskCounts, count("employee_task_count"));
+		assertEquals(0L, jdbcTemplate.queryForObject("select count(*) from employee where emp_name in ('Before the break', 'Too long')", Long.class));
+	}
+
+	private Path write(String ndjson) throws IOException {
+		return Files.writeString(Files.createTempFile(dir, "import", ".ndjson"), ndjson);
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+	}
+
+	private Map<Short, Long> taskCounts(Long empId) {
+		Map<Short, Long> counts = new TreeMap<>();
+		jdbcTemplate.query("select task_status, task_count from employee_task_count where emp_id = ?",
+				(RowCallbackHandler) row -> counts.put(row.getShort("task_status"), row.getLong("task_count")), empId);
+		return counts;
+	}
+
+}
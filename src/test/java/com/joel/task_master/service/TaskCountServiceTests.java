@@ -0,0 +1,175 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.EmployeeTaskCountDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.exception.VersionMismatchException;
+import com.joel.task_master.model.Employee;
+import com.joel.task_master.model.Task;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.EmployeeTaskCountRepository;
+import com.joel.task_master.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCountServiceTests {
+
+	@Autowired
+	private TaskCountService taskCountService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private EmployeeTaskCountRepository employeeTaskCountRepository;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long empId;
+	private Long otherEmpId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		otherEmpId = employeeService.saveEmployee(new EmployeeDTO(null, "Ana", "ana@gmail.com", "Developer")).getEmpId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+		employeeTaskCountRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void newEmployeesStartWithEveryStatusAtZero() {
+		EmployeeTaskCountDTO counts = taskCountService.getTaskCounts(List.of(empId)).get(0);
+
+		assertEquals(empId, counts.getEmpId());
+		assertEquals(Map.of("Pending", 0L, "In progress", 0L, "On hold", 0L, "Completed", 0L), counts.getTaskCounts());
+		assertEquals(0, counts.getTotalTasks());
+	}
+
+	@Test
+	void followsTaskSavesUpdatesAndDeletes() {
+		Long taskId = taskService.saveTask(newTask(TaskStatus.PENDING, null), empId).getTaskId();
+		taskService.saveTask(newTask(TaskStatus.PENDING, null), empId);
+		taskService.saveTasks(new ArrayList<>(List.of(newTask(TaskStatus.COMPLETED, empId), newTask(TaskStatus.COMPLETED, otherEmpId),
+				newTask(TaskStatus.ON_HOLD, otherEmpId))));
+
+		taskService.updateTaskById(taskId, newTask(TaskStatus.IN_PROGRESS, null), null);
+		assertCounts(empId, 1, 1, 0, 1);
+		assertCounts(otherEmpId, 0, 0, 1, 1);
+
+		// an update that keeps the status leaves the counters alone
+		taskService.updateTaskById(taskId, newTask(TaskStatus.IN_PROGRESS, null), null);
+		taskService.deleteTaskById(taskId);
+		assertCounts(empId, 1, 0, 0, 1);
+		assertThrows(TaskNotFoundException.class, () -> taskService.deleteTaskById(taskId));
+		assertCounts(empId, 1, 0, 0, 1);
+	}
+
+	@Test
+	void statusPatchMovesOneCount() {
+		Long taskId = taskService.saveTask(newTask(TaskStatus.PENDING, null), empId).getTaskId();
+		TaskDTO patch = new TaskDTO();
+		patch.setTaskStatus(TaskStatus.ON_HOLD);
+
+		taskService.patchTaskById(taskId, patch, null);
+		taskService.patchTaskById(taskId, patch, null);
+		assertCounts(empId, 0, 0, 1, 0);
+		// a stale version rolls the counter move back along with the UPDATE
+		patch.setTaskStatus(TaskStatus.COMPLETED);
+		assertThrows(VersionMismatchException.class, () -> taskService.patchTaskById(taskId, patch, 0L));
+		assertCounts(empId, 0, 0, 1, 0);
+	}
+
+	@Test
+	void bulkWritesMoveTheCountsOfTheMatchedTasks() {
+		taskService.saveTasks(new ArrayList<>(List.of(newTask(TaskStatus.PENDING, empId), newTask(TaskStatus.ON_HOLD, empId),
+				newTask(TaskStatus.COMPLETED, empId), newTask(TaskStatus.PENDING, otherEmpId))));
+
+		taskService.updateTaskStatusBulk(new TaskBulkDTO(null, null, null, null, LocalDate.now(), TaskStatus.COMPLETED));
+		assertCounts(empId, 0, 0, 0, 3);
+		assertCounts(otherEmpId, 0, 0, 0, 1);
+
+		taskService.deleteTaskBulk(new TaskBulkDTO(null, empId, TaskStatus.COMPLETED, null, null, null));
+		assertCounts(empId, 0, 0, 0, 0);
+		assertCounts(otherEmpId, 0, 0, 0, 1);
+	}
+
+	@Test
+	void employeeSavedWithTasksIsCountedAndDeleteDropsTheCounters() {
+		Employee employee = new Employee();
+		employee.setEmpName("Mia");
+		employee.setEmpEmail("mia@gmail.com");
+		employee.setEmpDesignation("Manager");
+		employee.setTasks(new ArrayList<>(List.of(newEntity(TaskStatus.ON_HOLD), newEntity(TaskStatus.ON_HOLD), newEntity(TaskStatus.PENDING))));
+		Long savedEmpId = employeeService.saveEmployeeWithTask(employee).getEmpId();
+
+		assertCounts(savedEmpId, 1, 0, 2, 0);
+		assertEquals(List.of(empId, otherEmpId, savedEmpId),
+				taskCountService.getTaskCounts(null).stream().map(EmployeeTaskCountDTO::getEmpId).toList());
+
+		employeeService.deleteEmployeeById(savedEmpId);
+		assertThrows(EmployeeNotFoundException.class, () -> taskCountService.getTaskCounts(List.of(empId, savedEmpId)));
+		assertEquals(0, employeeTaskCountRepository.findByEmpIds(List.of(savedEmpId)).size());
+	}
+
+	@Test
+	void missingCounterRowsStartAtTheDeltaButNeverBelowZero() {
+		// an employee from before the counters were backfilled
+		transactionTemplate.executeWithoutResult(status -> taskCountService.deleteTaskCounts(empId));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			taskCountService.addToTaskCount(empId, TaskStatus.PENDING, -1);
+			taskCountService.addToTaskCount(empId, TaskStatus.COMPLETED, 2);
+		});
+		assertCounts(empId, 0, 0, 0, 2);
+		transactionTemplate.executeWithoutResult(status -> taskCountService.addToTaskCount(empId, TaskStatus.PENDING, 3));
+		assertCounts(empId, 3, 0, 0, 2);
+	}
+
+	private void assertCounts(Long empId, long pending, long inProgress, long onHold, long completed) {
+		EmployeeTaskCountDTO counts = taskCountService.getTaskCounts(List.of(empId)).get(0);
+		assertEquals(Map.of("Pending", pending, "In progress", inProgress, "On hold", onHold, "Completed", completed), counts.getTaskCounts());
+		assertEquals(pending + inProgress + onHold + completed, counts.getTotalTasks());
+	}
+
+	private static TaskDTO newTask(TaskStatus taskStatus, Long empId) {
+		return new TaskDTO(null, "Title", "Description", taskStatus, LocalDate.now(), empId);
+	}
+
+	private static Task newEntity(TaskStatus taskStatus) {
+		Task task = new Task();
+		task.setTaskTitle("Title");
+		task.setTaskDescription("Description");
+		task.setTaskStatus(taskStatus);
+		task.setDueDate(LocalDate.now());
+		return task;
+	}
+
+}
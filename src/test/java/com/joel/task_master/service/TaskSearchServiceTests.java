@@ -0,0 +1,153 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.controller.TaskController;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.SearchPageDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.InvalidPageNumberException;
+import com.joel.task_master.exception.InvalidPageSizeException;
+import com.joel.task_master.exception.InvalidSearchQueryException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.support.SearchOperatorCases;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the test profile runs the in-memory engine, TaskRepositoryPlanTests covers the PostgreSQL one
+@SpringBootTest(properties = {
+		// own database: a second context running create-drop on the shared one would wipe the tables under the others
+		"spring.datasource.url=jdbc:h2:mem:task_search_db;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+		// two of the three tasks set up below, so one query can go past it
+		"taskmaster.search.max-candidates=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskSearchServiceTests {
+
+	@Autowired
+	private TaskSearchService taskSearchService;
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private MockMvc mockMvc;
+
+	private Long empId;
+	private Long titleMatchId;
+	private Long descriptionMatchId;
+
+	@BeforeEach
+	void setUp() {
+		// other test classes clean up with bulk deletes the index never sees
+		taskSearchService.reindex();
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		descriptionMatchId = taskService.saveTask(newTask("Quarterly planning", "Prepare the invoice summary for finance"), empId).getTaskId();
+		titleMatchId = taskService.saveTask(newTask("Send invoice reminders", "Email the customers with late payments"), empId).getTaskId();
+		taskService.saveTask(newTask("Team lunch", "Book a table for Friday"), empId);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void usesTheInMemoryEngineOnH2() {
+		assertInstanceOf(InMemoryTaskSearchServiceImpl.class, taskSearchService);
+	}
+
+	@Test
+	void titleMatchesRankAboveDescriptionMatches() {
+		assertEquals(List.of(titleMatchId, descriptionMatchId), taskIds(taskSearchService.searchTasks("Invoice", 0, 10)));
+		assertEquals(List.of(descriptionMatchId), taskIds(taskSearchService.searchTasks("invoice", 1, 1)));
+	}
+
+	@Test
+	void everyWordHasToMatch() {
+		assertEquals(List.of(descriptionMatchId), taskIds(taskSearchService.searchTasks("invoice finance", 0, 10)));
+		assertThrows(TaskNotFoundException.class, () -> taskSearchService.searchTasks("invoice lunch", 0, 10));
+		assertThrows(InvalidSearchQueryException.class, () -> taskSearchService.searchTasks("  ", 0, 10));
+	}
+
+	@Test
+	void matchesPastTheCapRankOnlyTheMostRecentTasks() throws Exception {
+		Long lunchId = taskService.saveTask(newTask("Order lunch", "Sandwiches for the invoice review"), empId).getTaskId();
+
+		SearchPageDTO<TaskDTO> page = taskSearchService.searchTasks("invoice", 0, 10);
+		assertTrue(page.isTruncated());
+		assertEquals(List.of(titleMatchId, lunchId), taskIds(page));
+		assertFalse(taskSearchService.searchTasks("lunch", 0, 10).isTruncated());
+
+		mockMvc.perform(get("/task-master/api/task-search").param("q", "invoice"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(TaskController.SEARCH_TRUNCATED_HEADER, "true"));
+		mockMvc.perform(get("/task-master/api/task-search").param("q", "lunch"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(TaskController.SEARCH_TRUNCATED_HEADER));
+	}
+
+	@Test
+	void rejectsInvalidPages() throws Exception {
+		assertThrows(InvalidPageNumberException.class, () -> taskSearchService.searchTasks("invoice", -1, 10));
+		assertThrows(InvalidPageSizeException.class, () -> taskSearchService.searchTasks("invoice", 0, 0));
+		assertThrows(InvalidPageSizeException.class, () -> taskSearchService.searchTasks("invoice", 0, 1001));
+
+		mockMvc.perform(get("/task-master/api/task-search").param("q", "invoice").param("pageNumber", "-1"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/task-master/api/task-search").param("q", "invoice").param("pageSize", "-3"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		taskService.updateTaskById(titleMatchId, newTask("Call the bank", "About the overdraft"), null);
+		assertEquals(List.of(descriptionMatchId), taskIds(taskSearchService.searchTasks("invoice", 0, 10)));
+		assertEquals(List.of(titleMatchId), taskIds(taskSearchService.searchTasks("overdraft", 0, 10)));
+
+		taskService.deleteTaskById(descriptionMatchId);
+		assertThrows(TaskNotFoundException.class, () -> taskSearchService.searchTasks("invoice", 0, 10));
+
+		employeeService.deleteEmployeeById(empId);
+		assertThrows(TaskNotFoundException.class, () -> taskSearchService.searchTasks("overdraft", 0, 10));
+	}
+
+	@Test
+	void operatorsMatchLikeThePostgresEngine() {
+		SearchOperatorCases.assertOperators(taskSearchService, taskService, empId);
+	}
+
+	private static List<Long> taskIds(SearchPageDTO<TaskDTO> page) {
+		return page.getContent().stream().map(TaskDTO::getTaskId).toList();
+	}
+
+	private static TaskDTO newTask(String title, String description) {
+		return new TaskDTO(null, title, description, TaskStatus.PENDING, LocalDate.now(), null);
+	}
+
+}
@@ -0,0 +1,282 @@
+package com.joel.task_master.service;
+
+import com.joel.task_master.dto.CursorPageDTO;
+import com.joel.task_master.dto.EmployeeDTO;
+import com.joel.task_master.dto.TaskBulkDTO;
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.EmployeeNotFoundException;
+import com.joel.task_master.exception.InvalidBulkFilterException;
+import com.joel.task_master.exception.InvalidDueDateException;
+import com.joel.task_master.exception.InvalidPageSizeException;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.exception.TaskNullDetailsException;
+import com.joel.task_master.exception.VersionMismatchException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.repository.EmployeeRepository;
+import com.joel.task_master.repository.TaskRepository;
+import com.joel.task_master.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.class)
+class TaskServiceImplTests {
+
+	@Autowired
+	private TaskService taskService;
+	@Autowired
+	private EmployeeService employeeService;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long empId;
+	private Long taskId;
+
+	@BeforeEach
+	void setUp() {
+		empId = employeeService.saveEmployee(new EmployeeDTO(null, "Joel", "joel@gmail.com", "Intern")).getEmpId();
+		taskId = taskService.saveTask(newTask(), empId).getTaskId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAllInBatch();
+		employeeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void saveTaskLoadsEmployeeAndInserts() {
+		List<String> statements = new ArrayList<>(statementCounter.statements(() -> taskService.saveTask(newTask(), empId)));
+		// the pooled sequence adds a call once every block, wherever the IDs used by earlier tests left it
+		statements.removeIf(sql -> sql.contains("task_sequence"));
+		// employee SELECT, counter UPDATE, task INSERT
+		assertEquals(3, statements.size(), statements::toString);
+	}
+
+	@Test
+	void saveTasksResolvesEmployeesOnceAndBatchesInserts() {
+		Long otherEmpId = employeeService.saveEmployee(new EmployeeDTO(null, "Suyog", "chari@gmail.com", "Developer")).getEmpId();
+		List<TaskDTO> tasks = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			TaskDTO task = newTask();
+			task.setEmployeeId(i % 2 == 0 ? empId : otherEmpId);
+			tasks.add(task);
+		}
+
+		// 1 IN query + at most 3 sequence blocks + 3 batched INSERTs + 1 counter UPDATE per employee, instead of 3 statements per task
+		assertTrue(statementCounter.count(() -> taskService.saveTasks(tasks)) <= 9);
+		assertEquals(121, taskRepository.count());
+		assertEquals(120, tasks.stream().map(TaskDTO::getTaskId).distinct().count());
+	}
+
+	@Test
+	void saveTasksRejectsTheWholeRequestUpFront() {
+		TaskDTO missingTitle = newTask();
+		missingTitle.setEmployeeId(empId);
+		missingTitle.setTaskTitle(" ");
+		TaskDTO unknownEmployee = newTask();
+		unknownEmployee.setEmployeeId(-1L);
+
+		assertEquals(0, statementCounter.count(() ->
+				assertThrows(TaskNullDetailsException.class, () -> taskService.saveTasks(List.of(missingTitle, newTask())))));
+		assertThrows(EmployeeNotFoundException.class, () -> taskService.saveTasks(List.of(unknownEmployee)));
+		assertEquals(1, taskRepository.count());
+	}
+
+	@Test
+	void getTaskByIdIsOneSelect() {
+		assertEquals(1, statementCounter.count(() -> taskService.getTaskById(taskId)));
+	}
+
+	@Test
+	void getTaskByIdMissIsOneSelect() {
+		assertEquals(1, statementCounter.count(() ->
+				assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(-1L))));
+	}
+
+	@Test
+	void getTaskByEmployeeIdIsOneSelect() {
+		assertEquals(1, statementCounter.count(() -> taskService.getTaskByEmployeeId(empId)));
+	}
+
+	@Test
+	void getAllTaskIsOneSelectWithoutCount() {
+		assertEquals(1, statementCounter.count(() -> taskService.getAllTask(0, 3)));
+		assertEquals(1, statementCounter.count(() -> taskService.getAllTaskAfter("", 3)));
+	}
+
+	@Test
+	void getAllTaskAfterWalksEveryTaskOnce() {
+		for (int i = 0; i < 4; i++) {
+			taskService.saveTask(newTask(), empId);
+		}
+
+		List<Long> seen = new ArrayList<>();
+		CursorPageDTO<TaskDTO> page = taskService.getAllTaskAfter("", 2);
+		page.getContent().forEach(task -> seen.add(task.getTaskId()));
+		while (page.getNextCursor() != null) {
+			page = taskService.getAllTaskAfter(page.getNextCursor(), 2);
+			page.getContent().forEach(task -> seen.add(task.getTaskId()));
+		}
+
+		assertEquals(5, seen.size());
+		assertEquals(seen.stream().sorted().distinct().toList(), seen);
+		assertThrows(InvalidPageSizeException.class, () -> taskService.getAllTaskAfter("", 0));
+		assertThrows(InvalidPageSizeException.class, () -> taskService.getAllTaskAfter("", -1));
+	}
+
+	@Test
+	void getTaskDueBetweenWalksTheRangeInDueDateOrder() {
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		for (int i = 0; i < 6; i++) {
+			TaskDTO task = newTask();
+			task.setDueDate(today.plusDays(i % 3));
+			taskService.saveTask(task, empId);
+		}
+		TaskDTO outsideRange = newTask();
+		outsideRange.setDueDate(today.plusDays(3));
+		taskService.saveTask(outsideRange, empId);
+
+		List<TaskDTO> seen = new ArrayList<>();
+		CursorPageDTO<TaskDTO> page = taskService.getTaskDueBetween(empId, today, today.plusDays(2), null, 2);
+		seen.addAll(page.getContent());
+		while (page.getNextCursor() != null) {
+			page = taskService.getTaskDueBetween(empId, today, today.plusDays(2), page.getNextCursor(), 2);
+			seen.addAll(page.getContent());
+		}
+
+		// the task from setUp is due today as well, the service decides "today" in UTC by default
+		assertEquals(7, seen.size());
+		assertEquals(7, seen.stream().map(TaskDTO::getTaskId).distinct().count());
+		assertEquals(seen.stream().sorted(Comparator.comparing(TaskDTO::getDueDate).thenComparing(TaskDTO::getTaskId)).toList(), seen);
+		assertEquals(3, taskService.getTaskDueToday(null, null, 10).getContent().size());
+		assertThrows(InvalidDueDateException.class, () -> taskService.getTaskDueBetween(empId, today.plusDays(1), today, null, 2));
+	}
+
+	@Test
+	void getOverdueTaskSkipsCompletedAndFutureTasks() {
+		TaskDTO overdue = newTask();
+		overdue.setDueDate(LocalDate.now(ZoneOffset.UTC).minusDays(2));
+		Long overdueTaskId = taskService.saveTask(overdue, empId).getTaskId();
+		TaskDTO completed = newTask();
+		completed.setTaskStatus(TaskStatus.COMPLETED);
+		completed.setDueDate(LocalDate.now(ZoneOffset.UTC).minusDays(1));
+		taskService.saveTask(completed, empId);
+
+		CursorPageDTO<TaskDTO> page = taskService.getOverdueTask(empId, null, 3);
+		assertEquals(List.of(overdueTaskId), page.getContent().stream().map(TaskDTO::getTaskId).toList());
+		assertNull(page.getNextCursor());
+		assertThrows(EmployeeNotFoundException.class, () -> taskService.getOverdueTask(-1L, null, 3));
+		assertThrows(InvalidPageSizeException.class, () -> taskService.getOverdueTask(empId, null, 0));
+		assertThrows(InvalidPageSizeException.class, () -> taskService.getTaskDueToday(empId, null, -1));
+	}
+
+	@Test
+	void updateTaskByIdIsSelectAndUpdate() {
+		// SELECT + UPDATE, plus moving one count from the old status to the new one
+		assertEquals(4, statementCounter.count(() -> taskService.updateTaskById(taskId, new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.COMPLETED, LocalDate.now(ZoneOffset.UTC), null), null)));
+	}
+
+	@Test
+	void deleteTaskByIdIsDecrementAndDelete() {
+		assertEquals(2, statementCounter.count(() -> taskService.deleteTaskById(taskId)));
+		assertEquals(2, statementCounter.count(() ->
+				assertThrows(TaskNotFoundException.class, () -> taskService.deleteTaskById(taskId))));
+	}
+
+	@Test
+	void saveTaskForMissingEmployeeStopsAfterLookup() {
+		assertEquals(1, statementCounter.count(() ->
+				assertThrows(EmployeeNotFoundException.class, () -> taskService.saveTask(newTask(), -1L))));
+	}
+
+	@Test
+	void patchTaskStatusIsCounterMoveAndOneUpdate() {
+		TaskDTO patch = new TaskDTO();
+		patch.setTaskStatus(TaskStatus.COMPLETED);
+
+		// no SELECT of the task, the affected row count tells whether it exists
+		assertEquals(2, statementCounter.count(() -> taskService.patchTaskById(taskId, patch, 0L)));
+		TaskDTO patched = taskService.getTaskById(taskId);
+		assertEquals(TaskStatus.COMPLETED, patched.getTaskStatus());
+		assertEquals("Task_1", patched.getTaskTitle());
+		assertEquals(1L, patched.getVersion());
+
+		assertThrows(VersionMismatchException.class, () -> taskService.patchTaskById(taskId, patch, 0L));
+		assertThrows(TaskNotFoundException.class, () -> taskService.patchTaskById(-1L, patch, null));
+		assertThrows(TaskNullDetailsException.class, () -> taskService.patchTaskById(taskId, new TaskDTO(), null));
+	}
+
+	@Test
+	void bulkStatusChangeCostDoesNotGrowPerTask() {
+		List<TaskDTO> tasks = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			TaskDTO task = newTask();
+			task.setEmployeeId(empId);
+			task.setDueDate(LocalDate.now(ZoneOffset.UTC).plusDays(i % 2));
+			tasks.add(task);
+		}
+		taskService.saveTasks(tasks);
+		TaskBulkDTO filter = new TaskBulkDTO(null, empId, TaskStatus.IN_PROGRESS, null, LocalDate.now(ZoneOffset.UTC), TaskStatus.COMPLETED);
+
+		// locking SELECT + one UPDATE per 1000 IDs + the two counter UPDATEs
+		List<String> statements = statementCounter.statements(() -> assertEquals(61, taskService.updateTaskStatusBulk(filter).getTasks()));
+		assertEquals(4, statements.size(), statements::toString);
+		assertEquals(61, taskService.getTaskByEmployeeIdAndStatus(empId, TaskStatus.COMPLETED, 0, 100).size());
+		// already completed, nothing left to change
+		assertEquals(0, taskService.updateTaskStatusBulk(filter).getTasks());
+	}
+
+	@Test
+	void bulkDeleteNeedsAFilter() {
+		Long otherTaskId = taskService.saveTask(newTask(), empId).getTaskId();
+
+		assertThrows(InvalidBulkFilterException.class, () -> taskService.deleteTaskBulk(new TaskBulkDTO()));
+		assertThrows(InvalidBulkFilterException.class, () -> taskService.deleteTaskBulk(new TaskBulkDTO(List.of(), null, null, null, null, null)));
+		assertEquals(2, taskService.deleteTaskBulk(new TaskBulkDTO(List.of(taskId, otherTaskId, -1L), null, null, null, null, null)).getTasks());
+		assertEquals(0, taskRepository.count());
+	}
+
+	@Test
+	void bulkFilterMatchingTooManyTasksIsRejected() {
+		// 10k more tasks for the employee, inserted directly, the services would take a while
+		jdbcTemplate.update("insert into task (task_id, task_title, task_description, task_status, due_date, fk_employee, version) " +
+				"select 1000000 + r.n, 'Task', 'Bulk', ?, current_date, ?, 0 from system_range(1, 10000) r(n)", TaskStatus.PENDING.getCode(), empId);
+
+		TaskBulkDTO filter = new TaskBulkDTO(null, empId, null, null, null, TaskStatus.COMPLETED);
+		assertThrows(InvalidBulkFilterException.class, () -> taskService.updateTaskStatusBulk(filter));
+		assertThrows(InvalidBulkFilterException.class, () -> taskService.deleteTaskBulk(filter));
+		assertEquals(10_001, taskRepository.count());
+		// narrowed down below the cap it goes through
+		assertEquals(10_000, taskService.deleteTaskBulk(new TaskBulkDTO(null, empId, TaskStatus.PENDING, null, null, null)).getTasks());
+	}
+
+	private TaskDTO newTask() {
+		return new TaskDTO(null, "Task_1", "Task description #1", TaskStatus.IN_PROGRESS, LocalDate.now(ZoneOffset.UTC), null);
+	}
+
+}
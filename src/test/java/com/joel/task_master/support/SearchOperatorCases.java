@@ -0,0 +1,69 @@
+package com.joel.task_master.support;
+
+import com.joel.task_master.dto.TaskDTO;
+import com.joel.task_master.exception.TaskNotFoundException;
+import com.joel.task_master.model.TaskStatus;
+import com.joel.task_master.service.TaskSearchService;
+import com.joel.task_master.service.TaskService;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The same operator queries for both search engines, so the in-memory one used on H2 can't drift from
+ * websearch_to_tsquery. Query words appear in the tasks in the same form, stemming makes no difference.
+ */
+public final class SearchOperatorCases {
+
+	private static final List<TaskDTO> TASKS = List.of(
+			newTask("Renew software licences", "Ask finance to approve the renewal budget"),
+			newTask("Approve budget", "Finance review of the licences budget"),
+			newTask("Office party", "Order pizza and drinks for the office party"),
+			newTask("Printer repair", "Call the vendor about the broken printer"));
+
+	// query -> indexes into TASKS of the tasks it has to find
+	private static final Map<String, Set<Integer>> QUERIES = new LinkedHashMap<>();
+
+	static {
+		QUERIES.put("licences budget", Set.of(0, 1));
+		QUERIES.put("\"software licences\"", Set.of(0));
+		QUERIES.put("\"licences budget\"", Set.of(1));
+		QUERIES.put("\"approve budget\" or pizza", Set.of(1, 2));
+		QUERIES.put("pizza or printer", Set.of(2, 3));
+		QUERIES.put("budget -software", Set.of(1));
+		QUERIES.put("party or printer -vendor", Set.of(2));
+		QUERIES.put("printer -\"broken printer\"", Set.of());
+		QUERIES.put("licences -budget", Set.of());
+	}
+
+	private SearchOperatorCases() {
+	}
+
+	public static void assertOperators(TaskSearchService taskSearchService, TaskService taskService, Long empId) {
+		List<Long> taskIds = TASKS.stream().map(task -> taskService.saveTask(task, empId).getTaskId()).toList();
+		try {
+			QUERIES.forEach((query, expected) -> {
+				if (expected.isEmpty()) {
+					assertThrows(TaskNotFoundException.class, () -> taskSearchService.searchTasks(query, 0, 10), query);
+				} else {
+					Set<Long> expectedIds = expected.stream().map(taskIds::get).collect(Collectors.toSet());
+					Set<Long> foundIds = taskSearchService.searchTasks(query, 0, 10).getContent().stream().map(TaskDTO::getTaskId).collect(Collectors.toSet());
+					assertEquals(expectedIds, foundIds, query);
+				}
+			});
+		} finally {
+			taskIds.forEach(taskService::deleteTaskById);
+		}
+	}
+
+	private static TaskDTO newTask(String title, String description) {
+		return new TaskDTO(null, title, description, TaskStatus.PENDING, LocalDate.now(), null);
+	}
+}
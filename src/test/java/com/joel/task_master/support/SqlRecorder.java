@@ -0,0 +1,49 @@
+package com.joel.task_master.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL strings Hibernate sends while an action is measured, so a blown statement budget can report what
+ * was actually run. Registered through {@code hibernate.session_factory.statement_inspector} in the test profile.
+ * Outside a measured action nothing is kept, and the list is emptied when the action ends.
+ */
+public class SqlRecorder implements StatementInspector {
+
+	private static final List<String> STATEMENTS = new ArrayList<>();
+	private static int recording;
+
+	@Override
+	public String inspect(String sql) {
+		synchronized (STATEMENTS) {
+			if (recording > 0) {
+				STATEMENTS.add(sql);
+			}
+		}
+		return sql;
+	}
+
+	// the SQL sent while the action ran, nested recordings see their own part of it
+	static List<String> record(Runnable action) {
+		int firstStatement;
+		synchronized (STATEMENTS) {
+			recording++;
+			firstStatement = STATEMENTS.size();
+		}
+		try {
+			action.run();
+			synchronized (STATEMENTS) {
+				return new ArrayList<>(STATEMENTS.subList(firstStatement, STATEMENTS.size()));
+			}
+		} finally {
+			synchronized (STATEMENTS) {
+				if (--recording == 0) {
+					STATEMENTS.clear();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.joel.task_master.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while an action runs, so tests can pin the number of round
+ * trips a service method or request is allowed to make.
+ */
+@TestComponent
+public class StatementCounter {
+
+	private final Statistics statistics;
+
+	public StatementCounter(EntityManagerFactory entityManagerFactory) {
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		this.statistics.setStatisticsEnabled(true);
+	}
+
+	public long count(Runnable action) {
+		long before = statistics.getPrepareStatementCount();
+		action.run();
+		return statistics.getPrepareStatementCount() - before;
+	}
+
+	// the SQL the action sent, e.g. to EXPLAIN exactly what Hibernate generated
+	public List<String> statements(Runnable action) {
+		return SqlRecorder.record(action);
+	}
+
+	// N+1 detector: fails with the offending SQL when the action goes over budget
+	public void assertWithinBudget(String label, long budget, Runnable action) {
+		long[] statements = {0};
+		List<String> sql = SqlRecorder.record(() -> statements[0] = count(action));
+		if (statements[0] > budget) {
+			fail(label + " issued " + statements[0] + " statements, budget is " + budget + ":\n  " + String.join("\n  ", sql));
+		}
+	}
+
+}